@@ -0,0 +1,37 @@
+#!/usr/bin/env bash
+# Builds target/cds with the application jar, its runtime dependencies on a plain class path and an AppCDS
+# archive of every class loaded by a training run. The training run starts the application without lazy
+# initialization and runs the startup warm-up (parsing, allocation, PDF rendering) before exiting, so POI and
+# iText classes are archived too. Start the application from target/cds with the same class path:
+#
+#   cd target/cds && java -XX:SharedArchiveFile=app.jsa -Dspring.profiles.active=prod -cp "app.jar:lib/*" \
+#       com.seating.exam_seating_arrangement_system.ExamSeatingArrangementSystemApplication
+#
+# The archive is only valid for the JDK that created it; rebuild it after upgrading the JDK or dependencies.
+# Set SKIP_PACKAGE=true to reuse an existing target/*.jar.
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+MAIN_CLASS=com.seating.exam_seating_arrangement_system.ExamSeatingArrangementSystemApplication
+OUT=target/cds
+
+if [ "${SKIP_PACKAGE:-false}" != "true" ]; then
+    ./mvnw -B -q -DskipTests package
+fi
+rm -rf "$OUT"
+# Devtools would replace the application class loader with its restart loader, whose classes cannot be archived
+./mvnw -B -q dependency:copy-dependencies -DincludeScope=runtime -DexcludeArtifactIds=spring-boot-devtools \
+    -DoutputDirectory="$OUT/lib"
+# The jar before repackaging holds only the application classes; nested jars of the executable jar cannot be archived
+cp target/exam-seating-arrangement-system-*.jar.original "$OUT/app.jar"
+
+cd "$OUT"
+# iText is compiled for Java 5; its classes cannot be archived and would each log a warning
+java -XX:ArchiveClassesAtExit=app.jsa -Xlog:cds=error \
+    -Dspring.profiles.active=prod \
+    -Dspring.main.lazy-initialization=false \
+    -Dseating.startup.warm-up=true \
+    -Dseating.startup.exit-after-warm-up=true \
+    -Dserver.port=0 \
+    -cp "app.jar:lib/*" "$MAIN_CLASS"
+echo "Created $OUT/app.jsa ($(du -h app.jsa | cut -f1))"
@@ -0,0 +1,67 @@
+#!/usr/bin/env bash
+# Measures cold start of the packaged application: the time until /actuator/health reports UP and the time of
+# the first seating request afterwards, which includes beans created lazily and classes loaded on first use.
+# Modes (default: all that are available):
+#   default   executable jar, default configuration
+#   prod      executable jar, prod profile (lazy initialization, no springdoc)
+#   prod-cds  prod profile started from target/cds with the AppCDS archive of scripts/build-cds-archive.sh
+#
+#   scripts/startup-benchmark.sh [runs] [mode...]
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+RUNS=${1:-5}
+shift || true
+MODES=("$@")
+if [ ${#MODES[@]} -eq 0 ]; then
+    MODES=(default prod)
+    [ -f target/cds/app.jsa ] && MODES+=(prod-cds)
+fi
+PORT=${PORT:-8097}
+MAIN_CLASS=com.seating.exam_seating_arrangement_system.ExamSeatingArrangementSystemApplication
+JAR=$(ls target/exam-seating-arrangement-system-*.jar | grep -v original | head -1)
+WORK=$(mktemp -d)
+trap 'rm -rf "$WORK"' EXIT
+
+printf 'RollNumber,Name,Class\n' > "$WORK/students.csv"
+for i in $(seq 1 200); do printf 'R%d,Student %d,C%d\n' "$i" "$i" $((i % 4)) >> "$WORK/students.csv"; done
+printf 'RoomNumber,Rows,Columns,Capacity,PerSeat\n101,10,10,100,1\n102,10,10,100,1\n' > "$WORK/rooms.csv"
+
+now_ms() {
+    echo $(( $(date +%s%N) / 1000000 ))
+}
+
+# Runs in the background job, exec replaces it so the job's pid is the JVM
+start_app() {
+    local mode=$1
+    local options=(-Dserver.port="$PORT" -Dseating.lookup.storage-dir="$WORK/plans"
+        -Dseating.rooms.storage-file="$WORK/rooms.json")
+    case "$mode" in
+        default) exec java "${options[@]}" -jar "$JAR" ;;
+        prod) exec java "${options[@]}" -Dspring.profiles.active=prod -jar "$JAR" ;;
+        prod-cds) cd target/cds && exec java -XX:SharedArchiveFile=app.jsa "${options[@]}" \
+            -Dspring.profiles.active=prod -cp "app.jar:lib/*" "$MAIN_CLASS" ;;
+        *) echo "Unknown mode $mode" >&2; exit 1 ;;
+    esac
+}
+
+printf '%-10s %4s %12s %18s\n' mode run startup_ms first_request_ms
+for mode in "${MODES[@]}"; do
+    for run in $(seq 1 "$RUNS"); do
+        started=$(now_ms)
+        start_app "$mode" > "$WORK/app.log" 2>&1 &
+        pid=$!
+        until curl -sf "http://localhost:$PORT/actuator/health" > /dev/null; do
+            if ! kill -0 "$pid" 2> /dev/null; then cat "$WORK/app.log" >&2; exit 1; fi
+            sleep 0.05
+        done
+        ready=$(now_ms)
+        curl -sf -o /dev/null -F "studentsFile=@$WORK/students.csv;type=text/csv" \
+            -F "roomsFile=@$WORK/rooms.csv;type=text/csv" -F type=rollnumber \
+            "http://localhost:$PORT/api/v1/seating/generate-pdf/stream"
+        done_at=$(now_ms)
+        kill "$pid"
+        wait "$pid" 2> /dev/null || true
+        printf '%-10s %4d %12d %18d\n' "$mode" "$run" $((ready - started)) $((done_at - ready))
+    done
+done
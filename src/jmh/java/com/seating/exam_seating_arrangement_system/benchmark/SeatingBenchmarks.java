@@ -0,0 +1,107 @@
+package com.seating.exam_seating_arrangement_system.benchmark;
+
+import com.seating.exam_seating_arrangement_system.seating.PDFGenerator;
+import com.seating.exam_seating_arrangement_system.seating.Room;
+import com.seating.exam_seating_arrangement_system.seating.SeatingLogic;
+import com.seating.exam_seating_arrangement_system.seating.SeatingPlan;
+import com.seating.exam_seating_arrangement_system.seating.StreamingExcelReader;
+import com.seating.exam_seating_arrangement_system.seating.Student;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for the parse, allocate and render stages of the seating pipeline.
+ * <p>
+ * Run with {@code mvn -Pbenchmarks compile exec:exec}; pass JMH options through {@code -Djmh.args},
+ * e.g. {@code -Djmh.args="SeatingBenchmarks.allocate -p students=10000 -prof gc"}.
+ * Throughput is reported in ops/s and latency as sampled percentiles in ms; add {@code -prof gc} for
+ * the allocation rate.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx2g"})
+@State(Scope.Benchmark)
+public class SeatingBenchmarks {
+
+    // Average students per room of the generated inventory is ~70, keep some spare capacity
+    private static final int STUDENTS_PER_ROOM = 50;
+
+    @Param({"1000", "10000", "100000"})
+    public int students;
+
+    private Path directory;
+    private Path studentsFile;
+    private Path roomsFile;
+
+    private final SeatingLogic seatingLogic = new SeatingLogic();
+    private final StreamingExcelReader streamingExcelReader = new StreamingExcelReader();
+    private final PDFGenerator pdfGenerator = new PDFGenerator();
+
+    private List<Student> studentList;
+    private List<Room> roomList;
+    private SeatingPlan plan;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("seating-bench");
+        studentsFile = WorkbookGenerator.writeStudents(directory.resolve("students.xlsx"), students, 42);
+        roomsFile = WorkbookGenerator.writeRooms(directory.resolve("rooms.xlsx"), students / STUDENTS_PER_ROOM + 1, 42);
+
+        studentList = streamingExcelReader.readStudents(studentsFile.toString());
+        roomList = streamingExcelReader.readRooms(roomsFile.toString());
+        plan = SeatingLogic.allocateByRollNumber(studentList, roomList);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(studentsFile);
+        Files.deleteIfExists(roomsFile);
+        Files.deleteIfExists(directory);
+    }
+
+    @Benchmark
+    public List<Student> readStudentsDom() throws IOException {
+        return seatingLogic.readStudentsFromExcel(studentsFile.toString());
+    }
+
+    @Benchmark
+    public List<Student> readStudentsStreaming() throws IOException {
+        return streamingExcelReader.readStudents(studentsFile.toString());
+    }
+
+    @Benchmark
+    public List<Room> readRoomsDom() throws IOException {
+        return seatingLogic.readRoomsFromExcel(roomsFile.toString());
+    }
+
+    @Benchmark
+    public List<Room> readRoomsStreaming() throws IOException {
+        return streamingExcelReader.readRooms(roomsFile.toString());
+    }
+
+    @Benchmark
+    public SeatingPlan allocateByRollNumber() {
+        return SeatingLogic.allocateByRollNumber(studentList, roomList);
+    }
+
+    @Benchmark
+    public SeatingPlan allocateAlphabetically() {
+        return SeatingLogic.allocateAlphabetically(studentList, roomList);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 2)
+    @Measurement(iterations = 5)
+    public void generateSeatingPDF() {
+        pdfGenerator.generateSeatingPDF(plan, OutputStream.nullOutputStream());
+    }
+}
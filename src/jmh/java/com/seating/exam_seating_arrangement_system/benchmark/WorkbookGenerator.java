@@ -0,0 +1,76 @@
+package com.seating.exam_seating_arrangement_system.benchmark;
+
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+/**
+ * Writes synthetic students and rooms workbooks in the layout expected by the readers.
+ * Uses SXSSF so that even the largest rosters are generated with little heap.
+ */
+public final class WorkbookGenerator {
+
+    private static final String[] CLASSES = {"CS-A", "CS-B", "EC-A", "EC-B", "ME-A", "ME-B", "CE-A", "EE-A"};
+    private static final String[] FIRST_NAMES = {"Aarav", "Diya", "Ishaan", "Meera", "Rohan", "Sara", "Vikram", "Zoya"};
+    private static final String[] LAST_NAMES = {"Sharma", "Iyer", "Khan", "Patel", "Reddy", "Singh", "Das", "Nair"};
+
+    private WorkbookGenerator() {
+    }
+
+    // Columns: RollNumber, Name, Class. Roll numbers are shuffled so sorting has work to do
+    public static Path writeStudents(Path file, int count, long seed) throws IOException {
+        Random random = new Random(seed);
+        try (SXSSFWorkbook workbook = new SXSSFWorkbook(100);
+             OutputStream out = Files.newOutputStream(file)) {
+            Sheet sheet = workbook.createSheet("Students");
+            header(sheet, "RollNumber", "Name", "Class");
+            for (int i = 1; i <= count; i++) {
+                Row row = sheet.createRow(i);
+                row.createCell(0).setCellValue("2024" + String.format("%06d", random.nextInt(count * 10)));
+                row.createCell(1).setCellValue(FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " "
+                        + LAST_NAMES[random.nextInt(LAST_NAMES.length)] + " " + i);
+                row.createCell(2).setCellValue(CLASSES[random.nextInt(CLASSES.length)]);
+            }
+            workbook.write(out);
+            workbook.dispose();
+        }
+        return file;
+    }
+
+    // Columns: RoomNumber, Rows, Columns, Capacity, Students per seat
+    public static Path writeRooms(Path file, int count, long seed) throws IOException {
+        Random random = new Random(seed);
+        try (SXSSFWorkbook workbook = new SXSSFWorkbook(100);
+             OutputStream out = Files.newOutputStream(file)) {
+            Sheet sheet = workbook.createSheet("Rooms");
+            header(sheet, "RoomNumber", "Rows", "Columns", "Capacity", "StudentsPerSeat");
+            for (int i = 1; i <= count; i++) {
+                int rows = 5 + random.nextInt(6);
+                int columns = 4 + random.nextInt(5);
+                int studentsPerSeat = 1 + random.nextInt(2);
+                Row row = sheet.createRow(i);
+                row.createCell(0).setCellValue("R" + i);
+                row.createCell(1).setCellValue(rows);
+                row.createCell(2).setCellValue(columns);
+                row.createCell(3).setCellValue(rows * columns * studentsPerSeat);
+                row.createCell(4).setCellValue(studentsPerSeat);
+            }
+            workbook.write(out);
+            workbook.dispose();
+        }
+        return file;
+    }
+
+    private static void header(Sheet sheet, String... names) {
+        Row row = sheet.createRow(0);
+        for (int i = 0; i < names.length; i++) {
+            row.createCell(i).setCellValue(names[i]);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.seating.exam_seating_arrangement_system.api;
+
+import com.seating.exam_seating_arrangement_system.service.AdmissionControl;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.multipart.MultipartHttpServletRequest;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Runs {@link AdmissionControl} before POST requests reach a controller and answers rejected requests with
+ * 429 (rate limited), 413 (upload too large) or 503 (overloaded), with a Retry-After header where retrying helps.
+ * <p>
+ * The permit of an admitted request is kept until the request is complete. Streamed responses finish in an async
+ * dispatch, so the permit is released there rather than when the controller method returns.
+ */
+@Component
+public class AdmissionInterceptor implements AsyncHandlerInterceptor {
+    private static final String PERMIT_ATTRIBUTE = AdmissionInterceptor.class.getName() + ".permit";
+    private final AdmissionControl admissionControl;
+
+    public AdmissionInterceptor(AdmissionControl admissionControl) {
+        this.admissionControl = admissionControl;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
+        // Async dispatches of admitted streaming requests pass again
+        if (!"POST".equals(request.getMethod()) || request.getAttribute(PERMIT_ATTRIBUTE) != null) return true;
+
+        List<MultipartFile> studentFiles = new ArrayList<>();
+        List<MultipartFile> roomFiles = new ArrayList<>();
+        if (request instanceof MultipartHttpServletRequest multipart) {
+            studentFiles.addAll(multipart.getFiles("studentsFile"));
+            studentFiles.addAll(multipart.getFiles("studentsFiles"));
+            roomFiles.addAll(multipart.getFiles("roomsFile"));
+        }
+
+        AdmissionControl.Admission admission = admissionControl.admit(request.getRemoteAddr(), studentFiles, roomFiles);
+        if (admission.admitted()) {
+            request.setAttribute(PERMIT_ATTRIBUTE, admission.permit());
+            return true;
+        }
+
+        HttpStatus status = switch (admission.rejection()) {
+            case RATE_LIMITED -> HttpStatus.TOO_MANY_REQUESTS;
+            case TOO_LARGE -> HttpStatus.PAYLOAD_TOO_LARGE;
+            case OVERLOADED -> HttpStatus.SERVICE_UNAVAILABLE;
+        };
+        response.setStatus(status.value());
+        if (admission.retryAfterSeconds() > 0) {
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(admission.retryAfterSeconds()));
+        }
+        response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.getWriter().write(admission.message());
+        return false;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (request.getAttribute(PERMIT_ATTRIBUTE) instanceof AdmissionControl.Permit permit) {
+            permit.release();
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.seating.exam_seating_arrangement_system.api;
+
+import com.seating.exam_seating_arrangement_system.service.RoomCatalog;
+import com.seating.exam_seating_arrangement_system.service.SeatingService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.NoSuchElementException;
+import java.util.concurrent.Callable;
+
+@RestController
+@RequestMapping("/api/v1/rooms")
+@Tag(name = "Room Catalog", description = "Versioned room inventory that seating requests can reference")
+public class RoomCatalogController {
+    private static final Logger logger = LoggerFactory.getLogger(RoomCatalogController.class);
+    private final RoomCatalog roomCatalog;
+    private final SeatingService seatingService;
+
+    public RoomCatalogController(RoomCatalog roomCatalog, SeatingService seatingService) {
+        this.roomCatalog = roomCatalog;
+        this.seatingService = seatingService;
+    }
+
+    @Schema(description = "Room layout")
+    public record RoomRequest(
+            @Schema(description = "Number of seat rows", example = "5") int rows,
+            @Schema(description = "Number of seat columns", example = "6") int columns,
+            @Schema(description = "Maximum number of students, at least 1; seats beyond the layout are ignored", example = "30") int totalCapacity,
+            @Schema(description = "Students sharing one seat", example = "1") int studentsPerSeat,
+            @Schema(description = "Accessible benches, rows or columns", example = "R1C1 R1C2") String accessibleSeats,
+            @Schema(description = "Benches, rows or columns that must stay empty", example = "R3C4") String blockedSeats,
+            @Schema(description = "Rows counted as front rows, 1 when missing", example = "2") Integer frontRows) {
+    }
+
+    @Operation(summary = "Get the current room catalog", description = "Latest version with all its rooms")
+    @GetMapping
+    public ResponseEntity<?> getCatalog() {
+        return apply(() -> roomCatalog.current().view());
+    }
+
+    @Operation(summary = "List catalog versions", description = "Versions still available to seating requests")
+    @GetMapping("/versions")
+    public ResponseEntity<?> getVersions() {
+        return ResponseEntity.ok(roomCatalog.versions());
+    }
+
+    @Operation(summary = "Get a catalog version")
+    @GetMapping("/versions/{version}")
+    public ResponseEntity<?> getVersion(@PathVariable long version) {
+        return apply(() -> roomCatalog.get(version).view());
+    }
+
+    @Operation(summary = "Get a room of the current catalog")
+    @GetMapping("/{roomNumber}")
+    public ResponseEntity<?> getRoom(@PathVariable String roomNumber) {
+        return apply(() -> roomCatalog.current().entries().stream()
+                .filter(room -> room.roomNumber().equals(roomNumber))
+                .findFirst()
+                .orElseThrow(() -> new NoSuchElementException("No room " + roomNumber + " in the catalog.")));
+    }
+
+    @Operation(summary = "Add or update a room", description = "Publishes a new catalog version")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "New catalog version",
+                    content = @Content(mediaType = "application/json")),
+            @ApiResponse(responseCode = "400", description = "Invalid room layout")
+    })
+    @PutMapping(value = "/{roomNumber}", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> putRoom(@PathVariable String roomNumber, @RequestBody RoomRequest room) {
+        return apply(() -> roomCatalog.put(new RoomCatalog.RoomEntry(roomNumber, room.rows(), room.columns(),
+                room.totalCapacity(), room.studentsPerSeat(), room.accessibleSeats(), room.blockedSeats(),
+                room.frontRows())).view());
+    }
+
+    @Operation(summary = "Remove a room", description = "Publishes a new catalog version")
+    @DeleteMapping("/{roomNumber}")
+    public ResponseEntity<?> deleteRoom(@PathVariable String roomNumber) {
+        return apply(() -> roomCatalog.remove(roomNumber).view());
+    }
+
+    @Operation(
+            summary = "Import rooms from Excel",
+            description = "Replaces the whole catalog with the rooms of the workbook and publishes a new version"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "New catalog version",
+                    content = @Content(mediaType = "application/json")),
+            @ApiResponse(responseCode = "400", description = "Invalid file or duplicate rooms")
+    })
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<?> importRooms(
+            @Parameter(description = "Excel, CSV, TSV or JSON lines file containing room details", required = true)
+            @RequestParam("roomsFile") MultipartFile roomsFile,
+
+            @Parameter(
+                    description = "Excel reader used to parse the uploaded file (dom/streaming)",
+                    schema = @Schema(allowableValues = {"dom", "streaming"})
+            )
+            @RequestParam(value = "reader", defaultValue = "streaming") String reader
+    ) {
+        return apply(() -> {
+            seatingService.validateFiles(roomsFile);
+            try (InputStream roomStream = roomsFile.getInputStream()) {
+                return roomCatalog.replace(seatingService.readRooms(roomStream, reader)).view();
+            }
+        });
+    }
+
+    private ResponseEntity<?> apply(Callable<?> action) {
+        try {
+            return ResponseEntity.ok(action.call());
+        } catch (NoSuchElementException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        } catch (IllegalArgumentException e) {
+            logger.error("Invalid input: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (IOException e) {
+            logger.error("Error updating the room catalog", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("Error updating the room catalog: " + e.getMessage());
+        } catch (Exception e) {
+            logger.error("Error processing room catalog request", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.seating.exam_seating_arrangement_system.api;
+
+import com.seating.exam_seating_arrangement_system.service.SeatingPlanRepository;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.NoSuchElementException;
+
+@RestController
+@RequestMapping("/api/v1/seating/published/{planId}/seats")
+@Tag(name = "Seat Lookup", description = "Find where a student sits in a published seating plan")
+public class SeatLookupController {
+    private static final int MAX_RESULTS = 500;
+    private final SeatingPlanRepository planRepository;
+
+    public SeatLookupController(SeatingPlanRepository planRepository) {
+        this.planRepository = planRepository;
+    }
+
+    @Operation(
+            summary = "Find a student's seat",
+            description = "Returns room, row, column and seat label of the student with the given roll number"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Seat found",
+                    content = @Content(mediaType = "application/json")),
+            @ApiResponse(responseCode = "404", description = "Unknown plan, or the student has no seat in it")
+    })
+    @GetMapping("/{rollNumber}")
+    public ResponseEntity<?> findSeat(@PathVariable String planId, @PathVariable String rollNumber) {
+        try {
+            return ResponseEntity.of(planRepository.findByRollNumber(planId, rollNumber));
+        } catch (NoSuchElementException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        }
+    }
+
+    @Operation(
+            summary = "Search seats",
+            description = "Seats of students whose name starts with the given prefix (case and accents ignored), "
+                    + "of a room, or both"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Matching seats, possibly empty",
+                    content = @Content(mediaType = "application/json")),
+            @ApiResponse(responseCode = "400", description = "Neither name nor room given"),
+            @ApiResponse(responseCode = "404", description = "Unknown plan")
+    })
+    @GetMapping
+    public ResponseEntity<?> searchSeats(
+            @PathVariable String planId,
+            @Parameter(description = "Start of the student's name") @RequestParam(value = "name", required = false) String name,
+            @Parameter(description = "Room number") @RequestParam(value = "room", required = false) String room,
+            @Parameter(description = "Maximum number of results") @RequestParam(value = "limit", defaultValue = "50") int limit
+    ) {
+        try {
+            return ResponseEntity.ok(planRepository.search(planId, name, room, Math.min(Math.max(limit, 1), MAX_RESULTS)));
+        } catch (NoSuchElementException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+}
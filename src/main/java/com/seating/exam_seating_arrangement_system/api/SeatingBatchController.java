@@ -0,0 +1,85 @@
+package com.seating.exam_seating_arrangement_system.api;
+
+import com.seating.exam_seating_arrangement_system.service.SeatingBatchService;
+import com.seating.exam_seating_arrangement_system.service.SeatingService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/seating")
+@Tag(name = "Seating Batch", description = "Seating arrangements for many exam sessions in one request")
+public class SeatingBatchController {
+    private static final Logger logger = LoggerFactory.getLogger(SeatingBatchController.class);
+    private final SeatingBatchService batchService;
+    private final SeatingService seatingService;
+
+    public SeatingBatchController(SeatingBatchService batchService, SeatingService seatingService) {
+        this.batchService = batchService;
+        this.seatingService = seatingService;
+    }
+
+    @Operation(
+            summary = "Generate seating arrangements for several exam sessions",
+            description = """
+            Parses the rooms file once and plans every session against the same room inventory.
+            
+            Sessions are taken from:
+            - one students file per session (the file name becomes the session name), and/or
+            - the optional 4th column 'Session' of a students file
+            
+            Returns a zip archive with one PDF per session.
+            """
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Zip archive streamed successfully",
+                    content = @Content(mediaType = "application/zip")),
+            @ApiResponse(responseCode = "400", description = "Invalid input",
+                    content = @Content(mediaType = "text/plain")),
+            @ApiResponse(responseCode = "500", description = "Internal server error",
+                    content = @Content(mediaType = "text/plain"))
+    })
+    @PostMapping(value = "/batch", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<StreamingResponseBody> generateBatch(@ModelAttribute SeatingBatchUpload upload) {
+        try {
+            SeatingService.Arrangement arrangement =
+                    seatingService.arrangement(upload.type(), upload.seed(), upload.labels());
+            List<SeatingBatchService.Session> sessions = batchService.plan(upload.roomsFile(), upload.roomCatalogVersion(),
+                    upload.studentsFiles(), arrangement, upload.readerOr("streaming"));
+
+            StreamingResponseBody body = outputStream -> batchService.writeArchive(sessions, outputStream);
+            return ResponseEntity.ok()
+                    .contentType(MediaType.parseMediaType("application/zip"))
+                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"SeatingArrangements.zip\"")
+                    .header("X-Seating-Sessions", String.valueOf(sessions.size()))
+                    .headers(headers -> SeatingController.addSeed(headers, arrangement))
+                    .body(body);
+
+        } catch (IllegalArgumentException e) {
+            logger.error("Invalid input: {}", e.getMessage());
+            return ResponseEntity.badRequest().contentType(MediaType.TEXT_PLAIN).body(textBody(e.getMessage()));
+        } catch (Exception e) {
+            logger.error("Error generating batch seating arrangement", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .contentType(MediaType.TEXT_PLAIN)
+                    .body(textBody("Error generating PDFs: " + e.getMessage()));
+        }
+    }
+
+    private StreamingResponseBody textBody(String message) {
+        return outputStream -> outputStream.write(message.getBytes(StandardCharsets.UTF_8));
+    }
+}
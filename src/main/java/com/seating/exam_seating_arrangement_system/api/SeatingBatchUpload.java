@@ -0,0 +1,46 @@
+package com.seating.exam_seating_arrangement_system.api;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.util.List;
+
+/**
+ * Form fields of the batch endpoint, {@link SeatingUpload} with one students file per session.
+ */
+public record SeatingBatchUpload(
+        @Schema(description = "One or more Excel, CSV, TSV or JSON lines files containing student details",
+                requiredMode = Schema.RequiredMode.REQUIRED)
+        List<MultipartFile> studentsFiles,
+
+        @Schema(description = "Excel, CSV, TSV or JSON lines file containing room details, unless a room catalog version is given")
+        MultipartFile roomsFile,
+
+        @Schema(description = "Version of the room catalog to use instead of a rooms file")
+        Long roomCatalogVersion,
+
+        @Schema(
+                description = "Type of arrangement (alphabetical/rollnumber/interleaved/packed/random/constrained)",
+                requiredMode = Schema.RequiredMode.REQUIRED,
+                allowableValues = {"alphabetical", "rollnumber", "interleaved", "packed", "random", "constrained"}
+        )
+        String type,
+
+        @Schema(description = "Seed of the random arrangement, generated when missing")
+        Long seed,
+
+        @Schema(description = "Seat labels of the random arrangement (rollnumber/name)", allowableValues = {"rollnumber", "name"})
+        String labels,
+
+        @Schema(
+                description = "Excel reader used to parse the uploaded files (dom/streaming), streaming when missing",
+                allowableValues = {"dom", "streaming"}
+        )
+        String reader
+) {
+
+    // The reader given in the request, or the endpoint's default
+    public String readerOr(String defaultReader) {
+        return reader == null || reader.isBlank() ? defaultReader : reader;
+    }
+}
@@ -1,44 +1,63 @@
 package com.seating.exam_seating_arrangement_system.api;
 
-import com.seating.exam_seating_arrangement_system.seating.PDFGenerator;
 import com.seating.exam_seating_arrangement_system.seating.Room;
-import com.seating.exam_seating_arrangement_system.seating.SeatingLogic;
+import com.seating.exam_seating_arrangement_system.seating.SeatingPlan;
 import com.seating.exam_seating_arrangement_system.seating.Student;
+import com.seating.exam_seating_arrangement_system.service.SeatingMetrics;
+import com.seating.exam_seating_arrangement_system.service.SeatingPlanRepository;
+import com.seating.exam_seating_arrangement_system.service.SeatingResultCache;
+import com.seating.exam_seating_arrangement_system.service.SeatingService;
 import io.swagger.v3.oas.annotations.Operation;
-import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
-import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.StandardOpenOption;
 import java.util.List;
-import java.util.Map;
 import java.util.Objects;
+import java.util.StringJoiner;
 
 @RestController
 @RequestMapping("/api/v1/seating")
 @Tag(name = "Seating Arrangement", description = "API for managing exam seating arrangements")
 public class SeatingController {
     private static final Logger logger = LoggerFactory.getLogger(SeatingController.class);
-    private final SeatingLogic seatingLogic;
-    private final PDFGenerator pdfGenerator;
+    private static final String PLAN_ID_HEADER = "X-Seating-Plan-Id";
+    private static final String VIOLATIONS_HEADER = "X-Seating-Violations";
+    private static final String ROOMS_USED_HEADER = "X-Seating-Rooms-Used";
+    private static final String LEFTOVER_CAPACITY_HEADER = "X-Seating-Leftover-Capacity";
+    private static final String SEED_HEADER = "X-Seating-Seed";
+    private static final String UNMET_REQUIREMENTS_HEADER = "X-Seating-Unmet-Requirements";
+    // Roll numbers listed in the unmet requirements header, X-Seating-Violations has the full count
+    private static final int MAX_LISTED_UNMET = 50;
+    private final SeatingService seatingService;
+    private final SeatingResultCache resultCache;
+    private final SeatingMetrics metrics;
+    private final SeatingPlanRepository planRepository;
 
-    public SeatingController() {
-        this.seatingLogic = new SeatingLogic();
-        this.pdfGenerator = new PDFGenerator();
+    public SeatingController(SeatingService seatingService, SeatingResultCache resultCache, SeatingMetrics metrics,
+                             SeatingPlanRepository planRepository) {
+        this.seatingService = seatingService;
+        this.resultCache = resultCache;
+        this.metrics = metrics;
+        this.planRepository = planRepository;
     }
 
     @Operation(
@@ -66,14 +85,33 @@ public class SeatingController {
             summary = "Generate seating arrangement PDF",
             description = """
             Generates a PDF file containing exam seating arrangements based on input Excel files.
+            CSV, TSV and JSON lines files with the same columns are accepted as well.
             
             Required Excel File Formats:
             1. Students File (columns): Name, RollNumber, Class
             2. Rooms File (columns): RoomNumber, Rows, Columns, Students per unit seat, capacity
+               (or pass roomCatalogVersion to use rooms registered in the room catalog)
             
             Arrangement Types:
             - alphabetical: Arranges students alphabetically by name
             - rollnumber: Arranges students by roll number
+            - interleaved: Mixes classes so neighbouring seats (same bench, left/right, front/back) hold
+              different classes where possible; remaining clashes are reported in the X-Seating-Violations header
+            - packed: Seats everybody in as few rooms as possible, respecting each room's capacity
+            - random: Shuffles students in an order fixed by the seed parameter; the seed (generated when
+              missing) is returned in the X-Seating-Seed header, and the same seed with the same uploads
+              regenerates the same plan. Seats are labelled by roll number, or by name with labels=name
+            - constrained: Seats students with needs (Needs column: accessible, front, separate) on matching
+              seats first, using the AccessibleSeats, BlockedSeats and FrontRows room columns, then everybody
+              else by roll number. Students whose needs cannot be met are counted in X-Seating-Violations
+              and listed in the X-Seating-Unmet-Requirements header
+            
+            Rooms used and leftover capacity are reported in the X-Seating-Rooms-Used and
+            X-Seating-Leftover-Capacity headers.
+            
+            Excel Readers:
+            - dom: Loads the whole workbook in memory (default)
+            - streaming: Reads the workbook row by row with constant memory (.xlsx and .xls)
             """
     )
     @ApiResponses(value = {
@@ -97,47 +135,51 @@ public class SeatingController {
             value = "/generate-pdf",
             consumes = MediaType.MULTIPART_FORM_DATA_VALUE
     )
-    public ResponseEntity<String> generateSeatingArrangement(
-            @Parameter(
-                    description = "Excel file containing student details",
-                    required = true
-            )
-            @RequestParam("studentsFile") MultipartFile studentsFile,
-
-            @Parameter(
-                    description = "Excel file containing room details",
-                    required = true
-            )
-            @RequestParam("roomsFile") MultipartFile roomsFile,
-
-            @Parameter(
-                    description = "Type of arrangement (alphabetical/rollnumber)",
-                    required = true,
-                    schema = @Schema(allowableValues = {"alphabetical", "rollnumber"})
-            )
-            @RequestParam("type") String type
-    ) {
+    public ResponseEntity<String> generateSeatingArrangement(@ModelAttribute SeatingUpload upload) {
         try {
             // Validate file types
-            validateFiles(studentsFile, roomsFile);
+            seatingService.validateFiles(upload.studentsFile(), upload.roomsFile(), upload.roomCatalogVersion());
+            SeatingService.Arrangement arrangement =
+                    seatingService.arrangement(upload.type(), upload.seed(), upload.labels());
+
+            // Look up identical uploads in the result cache
+            String cacheKey = cacheKey(upload, arrangement);
+            SeatingResultCache.CachedResult cached = resultCache.get(cacheKey);
 
             // Create temporary directory and save files
             Path tempDirectory = createTempDirectory();
-            File studentFile = saveMultipartFile(studentsFile, tempDirectory);
-            File roomFile = saveMultipartFile(roomsFile, tempDirectory);
+            SeatingPlan seatingPlan;
+            if (cached != null) {
+                seatingPlan = cached.plan();
+            } else {
+                File studentFile = metrics.time(SeatingMetrics.STAGE_SAVE,
+                        () -> saveMultipartFile(upload.studentsFile(), tempDirectory));
+                File roomFile = upload.roomCatalogVersion() != null ? null
+                        : metrics.time(SeatingMetrics.STAGE_SAVE, () -> saveMultipartFile(upload.roomsFile(), tempDirectory));
 
-            // Process data and generate seating arrangement
-            Map<String, List<List<String>>> seatingPlan = processSeatingArrangement(
-                    studentFile,
-                    roomFile,
-                    type
-            );
+                // Process data and generate seating arrangement
+                seatingPlan = processSeatingArrangement(
+                        studentFile,
+                        roomFile,
+                        upload.roomCatalogVersion(),
+                        arrangement,
+                        upload.readerOr("dom")
+                );
+            }
 
             // Generate and save PDF
-            String pdfPath = generatePDF(seatingPlan, tempDirectory);
+            byte[] pdf = cached != null ? cached.pdf() : null;
+            if (pdf == null) {
+                pdf = generatePDF(seatingPlan);
+                resultCache.put(cacheKey, seatingPlan, pdf);
+            }
+            String pdfPath = writePDF(pdf, tempDirectory);
+            String planId = publish(cacheKey, seatingPlan);
 
             logger.info("Successfully generated seating arrangement PDF");
-            return ResponseEntity.ok("PDF generated successfully! Download from: " + pdfPath);
+            return ResponseEntity.ok()
+                    .headers(headers -> addPlanHeaders(headers, planId, seatingPlan, arrangement))
+                    .body("PDF generated successfully! Download from: " + pdfPath);
 
         } catch (IllegalArgumentException e) {
             logger.error("Invalid input: {}", e.getMessage());
@@ -149,18 +191,175 @@ public class SeatingController {
         }
     }
 
-    private void validateFiles(MultipartFile studentsFile, MultipartFile roomsFile) {
-        if (!isExcelFile(studentsFile) || !isExcelFile(roomsFile)) {
-            throw new IllegalArgumentException("Invalid file format. Only Excel files (.xlsx, .xls) are allowed.");
+    @Operation(
+            summary = "Generate seating arrangement PDF and stream it back",
+            description = """
+            Same input as /generate-pdf, but the uploads are parsed straight from the request and the
+            generated PDF is written directly into the response body. No files are written on the server.
+            """
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "PDF streamed successfully",
+                    content = @Content(mediaType = MediaType.APPLICATION_PDF_VALUE)
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid input - File format incorrect or missing required columns",
+                    content = @Content(mediaType = "application/json")
+            ),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "Internal server error",
+                    content = @Content(mediaType = "application/json")
+            )
+    })
+    @PostMapping(
+            value = "/generate-pdf/stream",
+            consumes = MediaType.MULTIPART_FORM_DATA_VALUE
+    )
+    public ResponseEntity<StreamingResponseBody> streamSeatingArrangement(@ModelAttribute SeatingUpload upload) {
+        try {
+            seatingService.validateFiles(upload.studentsFile(), upload.roomsFile(), upload.roomCatalogVersion());
+            SeatingService.Arrangement arrangement =
+                    seatingService.arrangement(upload.type(), upload.seed(), upload.labels());
+
+            String cacheKey = cacheKey(upload, arrangement);
+            SeatingResultCache.CachedResult cached = resultCache.get(cacheKey);
+
+            SeatingPlan seatingPlan = cached != null
+                    ? cached.plan()
+                    : allocateFromUploads(upload, arrangement, upload.readerOr("streaming"), cacheKey);
+            String planId = publish(cacheKey, seatingPlan);
+
+            StreamingResponseBody body;
+            if (cached != null && cached.pdf() != null) {
+                byte[] pdf = cached.pdf();
+                body = outputStream -> outputStream.write(pdf);
+            } else {
+                body = outputStream -> {
+                    SeatingResultCache.CapturingOutputStream capture = resultCache.capture(outputStream);
+                    seatingService.render(seatingPlan, capture);
+                    resultCache.put(cacheKey, seatingPlan, capture.captured());
+                };
+            }
+
+            logger.info("Streaming seating arrangement PDF");
+            return ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_PDF)
+                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"SeatingArrangement.pdf\"")
+                    .headers(headers -> addPlanHeaders(headers, planId, seatingPlan, arrangement))
+                    .body(body);
+
+        } catch (IllegalArgumentException e) {
+            logger.error("Invalid input: {}", e.getMessage());
+            return ResponseEntity.badRequest().contentType(MediaType.TEXT_PLAIN).body(textBody(e.getMessage()));
+        } catch (Exception e) {
+            logger.error("Error generating seating arrangement", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .contentType(MediaType.TEXT_PLAIN)
+                    .body(textBody("Error generating PDF: " + e.getMessage()));
+        }
+    }
+
+    @Operation(
+            summary = "Generate printable room packets",
+            description = """
+            Same input as /generate-pdf/stream, but returns a zip archive with one PDF per occupied room so
+            rooms can be printed separately. Each PDF holds the door sheet with the seat grid followed by the
+            attendance list with a signature column. Rooms are rendered in parallel and written to the
+            archive as they become ready.
+            """
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Zip archive streamed successfully",
+                    content = @Content(mediaType = "application/zip")
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid input - File format incorrect or missing required columns",
+                    content = @Content(mediaType = "text/plain")
+            ),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "Internal server error",
+                    content = @Content(mediaType = "text/plain")
+            )
+    })
+    @PostMapping(
+            value = "/generate-room-packets",
+            consumes = MediaType.MULTIPART_FORM_DATA_VALUE
+    )
+    public ResponseEntity<StreamingResponseBody> generateRoomPackets(@ModelAttribute SeatingUpload upload) {
+        try {
+            seatingService.validateFiles(upload.studentsFile(), upload.roomsFile(), upload.roomCatalogVersion());
+            SeatingService.Arrangement arrangement =
+                    seatingService.arrangement(upload.type(), upload.seed(), upload.labels());
+
+            String cacheKey = cacheKey(upload, arrangement);
+            SeatingResultCache.CachedResult cached = resultCache.get(cacheKey);
+            SeatingPlan seatingPlan = cached != null
+                    ? cached.plan()
+                    : allocateFromUploads(upload, arrangement, upload.readerOr("streaming"), cacheKey);
+            String planId = publish(cacheKey, seatingPlan);
+
+            logger.info("Streaming room packets for {} rooms", seatingPlan.getRoomsUsed());
+            return ResponseEntity.ok()
+                    .contentType(MediaType.parseMediaType("application/zip"))
+                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"SeatingRooms.zip\"")
+                    .headers(headers -> addPlanHeaders(headers, planId, seatingPlan, arrangement))
+                    .body(outputStream -> seatingService.writeRoomPackets(seatingPlan, outputStream));
+
+        } catch (IllegalArgumentException e) {
+            logger.error("Invalid input: {}", e.getMessage());
+            return ResponseEntity.badRequest().contentType(MediaType.TEXT_PLAIN).body(textBody(e.getMessage()));
+        } catch (Exception e) {
+            logger.error("Error generating room packets", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .contentType(MediaType.TEXT_PLAIN)
+                    .body(textBody("Error generating room packets: " + e.getMessage()));
+        }
+    }
+
+    // Parses and allocates on the request thread so input errors still map to 400; the plan is cached without a PDF
+    private SeatingPlan allocateFromUploads(SeatingUpload upload, SeatingService.Arrangement arrangement, String reader,
+                                            String cacheKey) throws IOException {
+        List<Student> students;
+        try (InputStream studentStream = upload.studentsFile().getInputStream()) {
+            students = seatingService.readStudents(studentStream, reader);
+        }
+        List<Room> rooms = seatingService.readRooms(upload.roomsFile(), upload.roomCatalogVersion(), reader);
+        SeatingPlan seatingPlan = seatingService.allocate(students, rooms, arrangement);
+        resultCache.put(cacheKey, seatingPlan, null);
+        return seatingPlan;
+    }
+
+    private static void addPlanHeaders(HttpHeaders headers, String planId, SeatingPlan seatingPlan,
+                                       SeatingService.Arrangement arrangement) {
+        if (planId != null) headers.set(PLAN_ID_HEADER, planId);
+        headers.set(VIOLATIONS_HEADER, String.valueOf(seatingPlan.getConstraintViolations()));
+        headers.set(ROOMS_USED_HEADER, String.valueOf(seatingPlan.getRoomsUsed()));
+        headers.set(LEFTOVER_CAPACITY_HEADER, String.valueOf(seatingPlan.getLeftoverCapacity()));
+        addSeed(headers, arrangement);
+        List<Integer> unmet = seatingPlan.getUnmetRequirements();
+        if (!unmet.isEmpty()) {
+            StringJoiner rollNumbers = new StringJoiner(",");
+            unmet.stream().limit(MAX_LISTED_UNMET)
+                    .forEach(student -> rollNumbers.add(seatingPlan.getStudents().get(student).getRollNumber()));
+            headers.set(UNMET_REQUIREMENTS_HEADER, rollNumbers.toString());
         }
     }
 
-    private boolean isExcelFile(MultipartFile file) {
-        String contentType = file.getContentType();
-        return contentType != null && (
-                contentType.equals("application/vnd.ms-excel") ||
-                        contentType.equals("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet")
-        );
+    // Reported for random arrangements, passing it back as the seed regenerates the same plan
+    static void addSeed(HttpHeaders headers, SeatingService.Arrangement arrangement) {
+        if (arrangement.seed() != null) headers.set(SEED_HEADER, String.valueOf(arrangement.seed()));
+    }
+
+    private StreamingResponseBody textBody(String message) {
+        return outputStream -> outputStream.write(message.getBytes(StandardCharsets.UTF_8));
     }
 
     private Path createTempDirectory() throws Exception {
@@ -170,38 +369,63 @@ public class SeatingController {
     }
 
     private File saveMultipartFile(MultipartFile file, Path tempDirectory) throws Exception {
-        Path filePath = tempDirectory.resolve(Objects.requireNonNull(file.getOriginalFilename()));
-        Files.write(filePath, file.getBytes(), StandardOpenOption.CREATE);
+        // Only the name part of the client's file name is used, the upload is copied without loading it into the heap
+        Path filePath = tempDirectory.resolve(Path.of(Objects.requireNonNull(file.getOriginalFilename())).getFileName());
+        file.transferTo(filePath);
         logger.debug("Saved file: {}", filePath);
         return filePath.toFile();
     }
 
-    private Map<String, List<List<String>>> processSeatingArrangement(
+    private SeatingPlan processSeatingArrangement(
             File studentFile,
             File roomFile,
-            String type
+            Long roomCatalogVersion,
+            SeatingService.Arrangement arrangement,
+            String reader
     ) throws Exception {
-        List<Student> students = seatingLogic.readStudentsFromExcel(studentFile.getAbsolutePath());
-        List<Room> rooms = seatingLogic.readRoomsFromExcel(roomFile.getAbsolutePath());
+        long start = System.nanoTime();
+        List<Student> students = seatingService.readStudents(studentFile.getAbsolutePath(), reader);
+        List<Room> rooms = roomFile != null
+                ? seatingService.readRooms(roomFile.getAbsolutePath(), reader)
+                : seatingService.catalogRooms(roomCatalogVersion);
+        logger.info("Parsed input files with '{}' reader in {} ms",
+                reader, (System.nanoTime() - start) / 1_000_000);
 
-        logger.info("Processing seating arrangement for {} students and {} rooms",
-                students.size(), rooms.size());
+        return seatingService.allocate(students, rooms, arrangement);
+    }
 
-        return switch (type.toLowerCase()) {
-            case "alphabetical" -> SeatingLogic.allocateAlphabetically(students, rooms);
-            case "rollnumber" -> SeatingLogic.allocateByRollNumber(students, rooms);
-            default -> throw new IllegalArgumentException(
-                    "Invalid arrangement type. Must be either 'alphabetical' or 'rollnumber'");
-        };
+    private byte[] generatePDF(SeatingPlan seatingPlan) {
+        ByteArrayOutputStream pdf = new ByteArrayOutputStream();
+        seatingService.render(seatingPlan, pdf);
+        return pdf.toByteArray();
     }
 
-    private String generatePDF(
-            Map<String, List<List<String>>> seatingPlan,
-            Path tempDirectory
-    ) throws Exception {
-        String pdfOutputPath = tempDirectory.resolve("SeatingArrangement.pdf").toString();
-        pdfGenerator.generateSeatingPDF(seatingPlan, pdfOutputPath);
+    private String writePDF(byte[] pdf, Path tempDirectory) throws Exception {
+        Path pdfOutputPath = tempDirectory.resolve("SeatingArrangement.pdf");
+        Files.write(pdfOutputPath, pdf);
         logger.debug("Generated PDF at: {}", pdfOutputPath);
-        return pdfOutputPath;
+        return pdfOutputPath.toString();
+    }
+
+    // Publishes the plan for seat lookups in the background
+    private String publish(String cacheKey, SeatingPlan seatingPlan) {
+        return planRepository.publishGenerated(cacheKey, seatingPlan);
+    }
+
+    private String cacheKey(SeatingUpload upload, SeatingService.Arrangement arrangement) throws Exception {
+        if (!resultCache.isEnabled()) return null;
+        try (InputStream studentStream = upload.studentsFile().getInputStream();
+             InputStream roomStream = seatingService.roomsContent(upload.roomsFile(), upload.roomCatalogVersion())) {
+            return resultCache.key(studentStream, roomStream, arrangement.key());
+        }
+    }
+
+    @Operation(
+            summary = "Result cache statistics",
+            description = "Returns size, hit/miss and eviction counters of the seating result cache"
+    )
+    @GetMapping("/cache/stats")
+    public ResponseEntity<SeatingResultCache.Stats> cacheStats() {
+        return ResponseEntity.ok(resultCache.stats());
     }
 }
\ No newline at end of file
@@ -0,0 +1,108 @@
+package com.seating.exam_seating_arrangement_system.api;
+
+import com.seating.exam_seating_arrangement_system.service.JobQueueFullException;
+import com.seating.exam_seating_arrangement_system.service.SeatingJob;
+import com.seating.exam_seating_arrangement_system.service.SeatingJobService;
+import com.seating.exam_seating_arrangement_system.service.SeatingService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+
+@RestController
+@RequestMapping("/api/v1/seating/jobs")
+@Tag(name = "Seating Jobs", description = "Asynchronous generation of exam seating arrangements")
+public class SeatingJobController {
+    private static final Logger logger = LoggerFactory.getLogger(SeatingJobController.class);
+    private final SeatingJobService jobService;
+    private final SeatingService seatingService;
+
+    public SeatingJobController(SeatingJobService jobService, SeatingService seatingService) {
+        this.jobService = jobService;
+        this.seatingService = seatingService;
+    }
+
+    @Operation(
+            summary = "Submit a seating arrangement job",
+            description = """
+            Accepts the same input as /generate-pdf and returns immediately with a job id.
+            The PDF is generated in the background; poll the job status and download the
+            result once it is COMPLETED.
+            """
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Job accepted",
+                    content = @Content(mediaType = "application/json")),
+            @ApiResponse(responseCode = "400", description = "Invalid input",
+                    content = @Content(mediaType = "application/json")),
+            @ApiResponse(responseCode = "429", description = "Job queue is full, retry later",
+                    content = @Content(mediaType = "application/json"))
+    })
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<?> submitJob(@ModelAttribute SeatingUpload upload) {
+        try {
+            SeatingJob job = jobService.submit(upload.studentsFile(), upload.roomsFile(),
+                    upload.roomCatalogVersion(), seatingService.arrangement(upload.type(), upload.seed(), upload.labels()),
+                    upload.readerOr("streaming"));
+            return ResponseEntity.accepted()
+                    .location(URI.create("/api/v1/seating/jobs/" + job.getId()))
+                    .body(job);
+        } catch (JobQueueFullException e) {
+            logger.warn("Rejected seating job: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, "30")
+                    .body(e.getMessage());
+        } catch (IllegalArgumentException e) {
+            logger.error("Invalid input: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (Exception e) {
+            logger.error("Error submitting seating job", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("Error submitting job: " + e.getMessage());
+        }
+    }
+
+    @Operation(summary = "Get job status", description = "Returns the status and progress of a seating job")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Job found",
+                    content = @Content(mediaType = "application/json")),
+            @ApiResponse(responseCode = "404", description = "Unknown or expired job")
+    })
+    @GetMapping("/{jobId}")
+    public ResponseEntity<SeatingJob> getJob(@PathVariable String jobId) {
+        return ResponseEntity.of(jobService.find(jobId));
+    }
+
+    @Operation(summary = "Download job result", description = "Returns the generated PDF of a completed job")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "PDF returned",
+                    content = @Content(mediaType = MediaType.APPLICATION_PDF_VALUE)),
+            @ApiResponse(responseCode = "404", description = "Unknown or expired job"),
+            @ApiResponse(responseCode = "409", description = "Job has not completed (yet)")
+    })
+    @GetMapping("/{jobId}/result")
+    public ResponseEntity<?> getJobResult(@PathVariable String jobId) {
+        SeatingJob job = jobService.find(jobId).orElse(null);
+        if (job == null) {
+            return ResponseEntity.notFound().build();
+        }
+        if (job.getStatus() != SeatingJob.Status.COMPLETED) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body("Job is " + job.getStatus() + (job.getMessage() != null ? ": " + job.getMessage() : ""));
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_PDF)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"SeatingArrangement.pdf\"")
+                .body(job.getResult());
+    }
+}
@@ -0,0 +1,187 @@
+package com.seating.exam_seating_arrangement_system.api;
+
+import com.seating.exam_seating_arrangement_system.seating.Student;
+import com.seating.exam_seating_arrangement_system.service.SeatingPlanStore;
+import com.seating.exam_seating_arrangement_system.service.SeatingService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.net.URI;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Supplier;
+
+@RestController
+@RequestMapping("/api/v1/seating/plans")
+@Tag(name = "Seating Plans", description = "Stored seating plans that can be patched after publication")
+public class SeatingPlanController {
+    private static final Logger logger = LoggerFactory.getLogger(SeatingPlanController.class);
+    private static final int MAX_ROOMS_PER_PAGE = 50;
+    private final SeatingPlanStore planStore;
+    private final SeatingService seatingService;
+
+    public SeatingPlanController(SeatingPlanStore planStore, SeatingService seatingService) {
+        this.planStore = planStore;
+        this.seatingService = seatingService;
+    }
+
+    @Schema(description = "Late registration")
+    public record StudentRequest(
+            @Schema(description = "Student's roll number", example = "2021CS001") String rollNumber,
+            @Schema(description = "Student's full name", example = "John Doe") String name,
+            @Schema(description = "Student's class/section", example = "CS-A") String className) {
+    }
+
+    @Operation(
+            summary = "Create a stored seating plan",
+            description = """
+            Accepts the same input as /generate-pdf and keeps the allocated plan on the server.
+            The plan can then be patched with late registrations, withdrawals and room closures
+            without reshuffling students that are already seated.
+            """
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Plan created",
+                    content = @Content(mediaType = "application/json")),
+            @ApiResponse(responseCode = "400", description = "Invalid input")
+    })
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<?> createPlan(@ModelAttribute SeatingUpload upload) {
+        try {
+            SeatingPlanStore.PlanSummary summary = planStore.create(upload.studentsFile(), upload.roomsFile(),
+                    upload.roomCatalogVersion(), seatingService.arrangement(upload.type(), upload.seed(), upload.labels()),
+                    upload.readerOr("streaming"));
+            return ResponseEntity.created(URI.create("/api/v1/seating/plans/" + summary.id())).body(summary);
+        } catch (IllegalArgumentException e) {
+            logger.error("Invalid input: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (Exception e) {
+            logger.error("Error creating seating plan", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("Error creating seating plan: " + e.getMessage());
+        }
+    }
+
+    @Operation(summary = "Get plan summary", description = "Seated and unseated students, rooms used and leftover capacity")
+    @GetMapping("/{planId}")
+    public ResponseEntity<?> getPlan(@PathVariable String planId) {
+        return apply(() -> planStore.summary(planId));
+    }
+
+    @Operation(summary = "Download the plan PDF", description = "Only rooms changed since the last download are re-rendered")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "PDF returned",
+                    content = @Content(mediaType = MediaType.APPLICATION_PDF_VALUE)),
+            @ApiResponse(responseCode = "404", description = "Unknown plan")
+    })
+    @GetMapping("/{planId}/pdf")
+    public ResponseEntity<StreamingResponseBody> getPlanPdf(@PathVariable String planId) {
+        if (!planExists(planId)) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_PDF)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"SeatingArrangement.pdf\"")
+                .body(outputStream -> planStore.writePdf(planId, outputStream));
+    }
+
+    @Operation(
+            summary = "Get a page of rooms",
+            description = """
+            Seats of the occupied rooms of the plan, row by row, for on-screen previews. Nothing is rendered;
+            empty seats have no student and blocked seats are flagged. The PDF is only generated by /pdf.
+            """
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Rooms returned, none past the last page",
+                    content = @Content(mediaType = "application/json")),
+            @ApiResponse(responseCode = "400", description = "Invalid page or size"),
+            @ApiResponse(responseCode = "404", description = "Unknown plan")
+    })
+    @GetMapping("/{planId}/rooms")
+    public ResponseEntity<?> getRooms(
+            @PathVariable String planId,
+            @Parameter(description = "Page number, starting at 0") @RequestParam(value = "page", defaultValue = "0") int page,
+            @Parameter(description = "Rooms per page, at most 50") @RequestParam(value = "size", defaultValue = "10") int size
+    ) {
+        try {
+            return ResponseEntity.ok(planStore.rooms(planId, page, Math.min(size, MAX_ROOMS_PER_PAGE)));
+        } catch (NoSuchElementException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @Operation(summary = "Add late registrations",
+            description = "Students take free seats; seated students are not moved. Students that do not fit are reported as unseated")
+    @PostMapping(value = "/{planId}/students", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> addStudents(@PathVariable String planId, @RequestBody List<StudentRequest> students) {
+        // Checked before the plan is touched, published plans need a roll number and a name for every seat
+        for (int i = 0; i < students.size(); i++) {
+            StudentRequest student = students.get(i);
+            if (student == null || isBlank(student.rollNumber()) || isBlank(student.name())) {
+                return ResponseEntity.badRequest().body("Student " + (i + 1) + " needs a roll number and a name.");
+            }
+        }
+        List<Student> newStudents = students.stream()
+                .map(student -> new Student(student.rollNumber().trim(), student.name().trim(), student.className()))
+                .toList();
+        return apply(() -> planStore.addStudents(planId, newStudents));
+    }
+
+    @Operation(summary = "Withdraw a student", description = "Frees the student's seat for the first unseated student")
+    @DeleteMapping("/{planId}/students/{rollNumber}")
+    public ResponseEntity<?> withdrawStudent(@PathVariable String planId, @PathVariable String rollNumber) {
+        return apply(() -> planStore.withdrawStudent(planId, rollNumber));
+    }
+
+    @Operation(summary = "Close a room", description = "Moves the room's students to free seats in the other rooms")
+    @PostMapping("/{planId}/rooms/{roomNumber}/close")
+    public ResponseEntity<?> closeRoom(@PathVariable String planId, @PathVariable String roomNumber) {
+        return apply(() -> planStore.closeRoom(planId, roomNumber));
+    }
+
+    @Operation(summary = "Delete a stored plan")
+    @DeleteMapping("/{planId}")
+    public ResponseEntity<Void> deletePlan(@PathVariable String planId) {
+        return planStore.delete(planId) ? ResponseEntity.noContent().build() : ResponseEntity.notFound().build();
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    private boolean planExists(String planId) {
+        try {
+            planStore.summary(planId);
+            return true;
+        } catch (NoSuchElementException e) {
+            return false;
+        }
+    }
+
+    private ResponseEntity<?> apply(Supplier<SeatingPlanStore.PlanSummary> change) {
+        try {
+            return ResponseEntity.ok(change.get());
+        } catch (NoSuchElementException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        } catch (IllegalArgumentException e) {
+            logger.error("Invalid input: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+}
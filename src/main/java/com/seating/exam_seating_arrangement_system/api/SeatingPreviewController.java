@@ -0,0 +1,82 @@
+package com.seating.exam_seating_arrangement_system.api;
+
+import com.seating.exam_seating_arrangement_system.service.SeatingPlanStore;
+import com.seating.exam_seating_arrangement_system.service.SeatingService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Controller;
+import org.springframework.ui.Model;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.ModelAttribute;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.util.NoSuchElementException;
+
+/**
+ * Server-rendered preview of stored seating plans, one room per page. Previews never touch the PDF renderer;
+ * the PDF of the plan is generated when it is downloaded from {@code /plans/{planId}/pdf}.
+ */
+@Controller
+@RequestMapping("/api/v1/seating")
+@Tag(name = "Seating Preview", description = "HTML pages of stored seating plans")
+public class SeatingPreviewController {
+    private static final Logger logger = LoggerFactory.getLogger(SeatingPreviewController.class);
+    private final SeatingPlanStore planStore;
+    private final SeatingService seatingService;
+
+    public SeatingPreviewController(SeatingPlanStore planStore, SeatingService seatingService) {
+        this.planStore = planStore;
+        this.seatingService = seatingService;
+    }
+
+    @Operation(
+            summary = "Create a stored plan and open its preview",
+            description = "Same input as POST /plans, answered with a redirect to the HTML preview of the new plan"
+    )
+    @PostMapping(value = "/preview", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public String createPreview(@ModelAttribute SeatingUpload upload) throws IOException {
+        try {
+            SeatingPlanStore.PlanSummary summary = planStore.create(upload.studentsFile(), upload.roomsFile(),
+                    upload.roomCatalogVersion(), seatingService.arrangement(upload.type(), upload.seed(), upload.labels()),
+                    upload.readerOr("streaming"));
+            return "redirect:/api/v1/seating/plans/" + summary.id() + "/preview";
+        } catch (IllegalArgumentException e) {
+            logger.error("Invalid input: {}", e.getMessage());
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    @Operation(summary = "Preview a room of a stored plan", description = "HTML page with the seats of one occupied room")
+    @GetMapping(value = "/plans/{planId}/preview", produces = MediaType.TEXT_HTML_VALUE)
+    public String preview(
+            @PathVariable String planId,
+            @Parameter(description = "Room page, starting at 0") @RequestParam(value = "page", defaultValue = "0") int page,
+            Model model
+    ) {
+        SeatingPlanStore.RoomPage rooms;
+        try {
+            rooms = planStore.rooms(planId, page, 1);
+        } catch (NoSuchElementException e) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage());
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+        if (rooms.rooms().isEmpty() && page > 0) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Plan " + planId + " has no room page " + page);
+        }
+        model.addAttribute("planId", planId);
+        model.addAttribute("page", rooms);
+        model.addAttribute("room", rooms.rooms().isEmpty() ? null : rooms.rooms().get(0));
+        return "preview";
+    }
+}
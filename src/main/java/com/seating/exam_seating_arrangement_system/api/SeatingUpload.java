@@ -0,0 +1,45 @@
+package com.seating.exam_seating_arrangement_system.api;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import org.springframework.web.multipart.MultipartFile;
+
+/**
+ * Form fields of the endpoints that seat one students upload, bound with {@code @ModelAttribute}.
+ */
+public record SeatingUpload(
+        @Schema(description = "Excel, CSV, TSV or JSON lines file containing student details",
+                requiredMode = Schema.RequiredMode.REQUIRED)
+        MultipartFile studentsFile,
+
+        @Schema(description = "Excel, CSV, TSV or JSON lines file containing room details, unless a room catalog version is given")
+        MultipartFile roomsFile,
+
+        @Schema(description = "Version of the room catalog to use instead of a rooms file")
+        Long roomCatalogVersion,
+
+        @Schema(
+                description = "Type of arrangement (alphabetical/rollnumber/interleaved/packed/random/constrained)",
+                requiredMode = Schema.RequiredMode.REQUIRED,
+                allowableValues = {"alphabetical", "rollnumber", "interleaved", "packed", "random", "constrained"}
+        )
+        String type,
+
+        @Schema(description = "Seed of the random arrangement, generated when missing")
+        Long seed,
+
+        @Schema(description = "Seat labels of the random arrangement (rollnumber/name)", allowableValues = {"rollnumber", "name"})
+        String labels,
+
+        @Schema(
+                description = "Excel reader used to parse the uploaded files (dom/streaming); when missing, "
+                        + "/generate-pdf uses dom and the other endpoints use streaming",
+                allowableValues = {"dom", "streaming"}
+        )
+        String reader
+) {
+
+    // The reader given in the request, or the endpoint's default
+    public String readerOr(String defaultReader) {
+        return reader == null || reader.isBlank() ? defaultReader : reader;
+    }
+}
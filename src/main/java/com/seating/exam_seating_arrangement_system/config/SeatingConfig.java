@@ -0,0 +1,39 @@
+package com.seating.exam_seating_arrangement_system.config;
+
+import com.seating.exam_seating_arrangement_system.seating.PDFGenerator;
+import com.seating.exam_seating_arrangement_system.seating.SeatingLogic;
+import com.seating.exam_seating_arrangement_system.seating.StreamingExcelReader;
+import com.seating.exam_seating_arrangement_system.seating.TextRosterReader;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Readers, allocation and PDF rendering of the seating package as application wide singletons. None of them
+ * keeps per-request state, so a single instance serves all concurrent requests; the package itself stays free of
+ * Spring so it can still be used from {@code Main}.
+ */
+@Configuration
+public class SeatingConfig {
+
+    @Bean
+    public SeatingLogic seatingLogic() {
+        return new SeatingLogic();
+    }
+
+    @Bean
+    public StreamingExcelReader streamingExcelReader() {
+        return new StreamingExcelReader();
+    }
+
+    @Bean
+    public TextRosterReader textRosterReader() {
+        return new TextRosterReader();
+    }
+
+    @Bean(destroyMethod = "shutdown")
+    public PDFGenerator pdfGenerator(@Value("${seating.pdf.render-parallelism:0}") int renderParallelism) {
+        // 0 renders with one thread per available processor
+        return renderParallelism > 0 ? new PDFGenerator(renderParallelism) : new PDFGenerator();
+    }
+}
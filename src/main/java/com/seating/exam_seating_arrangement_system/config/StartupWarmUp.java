@@ -0,0 +1,103 @@
+package com.seating.exam_seating_arrangement_system.config;
+
+import com.seating.exam_seating_arrangement_system.seating.Room;
+import com.seating.exam_seating_arrangement_system.seating.SeatingPlan;
+import com.seating.exam_seating_arrangement_system.seating.Student;
+import com.seating.exam_seating_arrangement_system.service.SeatingService;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Runs a small roster through parsing, allocation and rendering once the application has started, so POI, iText
+ * and the request path are loaded before the first real upload. Used by the CDS training run
+ * ({@code scripts/build-cds-archive.sh}), which also sets {@code seating.startup.exit-after-warm-up} so every
+ * class the warm-up touches ends up in the shared archive.
+ */
+@Component
+@ConditionalOnProperty(name = "seating.startup.warm-up", havingValue = "true")
+public class StartupWarmUp implements ApplicationRunner {
+    private static final Logger logger = LoggerFactory.getLogger(StartupWarmUp.class);
+    private static final int STUDENTS = 60;
+
+    private final SeatingService seatingService;
+    private final ConfigurableApplicationContext context;
+    private final boolean exitAfterWarmUp;
+
+    public StartupWarmUp(
+            SeatingService seatingService,
+            ConfigurableApplicationContext context,
+            @Value("${seating.startup.exit-after-warm-up:false}") boolean exitAfterWarmUp
+    ) {
+        this.seatingService = seatingService;
+        this.context = context;
+        this.exitAfterWarmUp = exitAfterWarmUp;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws IOException {
+        long start = System.nanoTime();
+        byte[] workbook = studentWorkbook();
+        byte[] text = studentText().getBytes(StandardCharsets.UTF_8);
+        List<Room> rooms = seatingService.readRooms(new ByteArrayInputStream(
+                "RoomNumber,Rows,Columns,Capacity,PerSeat\n101,5,6,30,1\n102,4,5,40,2\n".getBytes(StandardCharsets.UTF_8)), "streaming");
+
+        for (String reader : List.of("dom", "streaming")) {
+            seatingService.readStudents(new ByteArrayInputStream(workbook), reader);
+        }
+        List<Student> students = seatingService.readStudents(new ByteArrayInputStream(text), "streaming");
+        for (String type : List.of("alphabetical", "interleaved", "packed")) {
+            SeatingPlan plan = seatingService.allocate(students, rooms, seatingService.arrangement(type, null, null));
+            seatingService.render(plan, OutputStream.nullOutputStream());
+            seatingService.writeRoomPackets(plan, OutputStream.nullOutputStream());
+        }
+        logger.info("Warm-up finished in {} ms", (System.nanoTime() - start) / 1_000_000);
+
+        if (exitAfterWarmUp) {
+            System.exit(SpringApplication.exit(context));
+        }
+    }
+
+    private static byte[] studentWorkbook() throws IOException {
+        try (XSSFWorkbook workbook = new XSSFWorkbook();
+             ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            Sheet sheet = workbook.createSheet("Students");
+            Row header = sheet.createRow(0);
+            header.createCell(0).setCellValue("RollNumber");
+            header.createCell(1).setCellValue("Name");
+            header.createCell(2).setCellValue("Class");
+            for (int i = 1; i <= STUDENTS; i++) {
+                Row row = sheet.createRow(i);
+                row.createCell(0).setCellValue(i);
+                row.createCell(1).setCellValue("Student " + i);
+                row.createCell(2).setCellValue("C" + i % 3);
+            }
+            workbook.write(out);
+            return out.toByteArray();
+        }
+    }
+
+    private static String studentText() {
+        StringBuilder csv = new StringBuilder("RollNumber,Name,Class\n");
+        for (int i = 1; i <= STUDENTS; i++) {
+            csv.append('R').append(i).append(",Student ").append(i).append(",C").append(i % 3).append('\n');
+        }
+        return csv.toString();
+    }
+}
@@ -4,7 +4,6 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.List;
-import java.util.Map;
 
 public class Main {
         private static final Logger logger = LoggerFactory.getLogger(Main.class);
@@ -30,11 +29,11 @@ public class Main {
 
                         // Allocate seats Roll Number-wise
                         logger.info("allocating seats roll number...");
-                        Map<String, List<List<String>>> rollNumberSeating = SeatingLogic.allocateByRollNumber(students, rooms);
+                        SeatingPlan rollNumberSeating = SeatingLogic.allocateByRollNumber(students, rooms);
 
                         // Allocate seats Alphabetically
                         logger.info("allocating seats alphabetically ");
-                        Map<String, List<List<String>>> alphabeticalSeating = SeatingLogic.allocateAlphabetically(students, rooms);
+                        SeatingPlan alphabeticalSeating = SeatingLogic.allocateAlphabetically(students, rooms);
 
                         // Generate PDFs
                         logger.info("generating pdfs...");
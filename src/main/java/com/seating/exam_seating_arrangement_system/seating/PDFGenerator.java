@@ -2,78 +2,394 @@ package com.seating.exam_seating_arrangement_system.seating;
 
 import com.itextpdf.text.*;
 import com.itextpdf.text.pdf.BaseFont;
+import com.itextpdf.text.pdf.PdfCopy;
 import com.itextpdf.text.pdf.PdfPCell;
 import com.itextpdf.text.pdf.PdfPTable;
+import com.itextpdf.text.pdf.PdfPageEventHelper;
+import com.itextpdf.text.pdf.PdfReader;
 import com.itextpdf.text.pdf.PdfWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import java.io.ByteArrayOutputStream;
 import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 
+/**
+ * Renders a {@link SeatingPlan} as a PDF with one page per room.
+ * <p>
+ * With a parallelism above 1, every room is rendered into its own in-memory PDF fragment on a
+ * fork-join pool and the fragments are then copied, in room order, into the final document.
+ * Fonts, the seat cell style and the attendance table header are created once and shared by all renders.
+ * Renders keep no state in the generator, so one instance is safe to share between concurrent requests;
+ * {@link #shutdown} stops its render threads.
+ * <p>
+ * {@link #generateRoomPackets} renders one standalone PDF per room instead, a door sheet with the seat
+ * grid followed by an attendance list, for rooms that are printed separately.
+ */
 public class PDFGenerator {
 
-    public void generateSeatingPDF(Map<String, List<List<String>>> seatingPlan, String filePath) {
-        Document document = new Document(PageSize.A4.rotate(), 36, 36, 36, 36);
+    private static final Logger logger = LoggerFactory.getLogger(PDFGenerator.class);
+    private static final Fonts FONTS = Fonts.create();
 
+    private final int parallelism;
+    private final ForkJoinPool renderPool;
+
+    public PDFGenerator() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    public PDFGenerator(int parallelism) {
+        this.parallelism = Math.max(1, parallelism);
+        this.renderPool = this.parallelism > 1 ? new ForkJoinPool(this.parallelism) : null;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public void shutdown() {
+        if (renderPool != null) renderPool.shutdownNow();
+    }
+
+    public void generateSeatingPDF(SeatingPlan seatingPlan, String filePath) {
+        try (FileOutputStream outputStream = new FileOutputStream(filePath)) {
+            generateSeatingPDF(seatingPlan, outputStream);
+            logger.info("PDF generated successfully at: {}", filePath);
+        } catch (IOException e) {
+            throw new RuntimeException("Error generating PDF: " + e.getMessage(), e);
+        }
+    }
+
+    // Writes the PDF to the given stream and returns the number of pages, the stream is left open for the caller to close
+    public int generateSeatingPDF(SeatingPlan seatingPlan, OutputStream outputStream) {
+        List<SeatingPlan.RoomSeating> rooms = new ArrayList<>();
+        for (SeatingPlan.RoomSeating room : seatingPlan.getRooms()) {
+            if (room.usedRows() > 0) rooms.add(room); // Skip rooms nobody is seated in
+        }
+
+        try {
+            if (renderPool == null || rooms.size() < 2) {
+                return renderSequentially(seatingPlan, rooms, outputStream);
+            } else {
+                return renderInParallel(seatingPlan, rooms, outputStream);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while generating PDF", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Error generating PDF: " + e.getCause().getMessage(), e.getCause());
+        } catch (DocumentException | IOException e) {
+            throw new RuntimeException("Error generating PDF: " + e.getMessage(), e);
+        }
+    }
+
+    private int renderSequentially(SeatingPlan seatingPlan, List<SeatingPlan.RoomSeating> rooms,
+                                   OutputStream outputStream) throws DocumentException {
+        Document document = newDocument();
+        PdfWriter writer = PdfWriter.getInstance(document, outputStream);
+        writer.setCloseStream(false);
+        PageCounter pageCounter = new PageCounter();
+        writer.setPageEvent(pageCounter);
+        document.open();
+
+        for (SeatingPlan.RoomSeating room : rooms) {
+            addRoom(document, seatingPlan, room);
+            document.newPage(); // New page for each room
+        }
+
+        document.close();
+        return pageCounter.pages;
+    }
+
+    private int renderInParallel(SeatingPlan seatingPlan, List<SeatingPlan.RoomSeating> rooms,
+                                 OutputStream outputStream)
+            throws DocumentException, IOException, InterruptedException, ExecutionException {
+        List<Future<byte[]>> fragments = new ArrayList<>(rooms.size());
+        for (SeatingPlan.RoomSeating room : rooms) {
+            fragments.add(renderPool.submit(() -> renderRoom(seatingPlan, room)));
+        }
+
+        // Merge fragments in room order as soon as each one is ready
+        Document document = newDocument();
+        PdfCopy copy = new PdfCopy(document, outputStream);
+        copy.setCloseStream(false);
+        document.open();
+        int pages = 0;
+        try {
+            for (Future<byte[]> fragment : fragments) {
+                pages += appendFragment(copy, fragment.get());
+            }
+        } finally {
+            fragments.forEach(fragment -> fragment.cancel(false));
+        }
+        document.close();
+        return pages;
+    }
+
+    /**
+     * Merges room fragments created by {@link #renderRoom} into one PDF and returns the number of pages.
+     * The stream is left open.
+     */
+    public int mergeRooms(List<byte[]> fragments, OutputStream outputStream) {
         try {
-            PdfWriter.getInstance(document, new FileOutputStream(filePath));
+            Document document = newDocument();
+            PdfCopy copy = new PdfCopy(document, outputStream);
+            copy.setCloseStream(false);
             document.open();
+            int pages = 0;
+            for (byte[] fragment : fragments) {
+                pages += appendFragment(copy, fragment);
+            }
+            document.close();
+            return pages;
+        } catch (DocumentException | IOException e) {
+            throw new RuntimeException("Error generating PDF: " + e.getMessage(), e);
+        }
+    }
+
+    private static int appendFragment(PdfCopy copy, byte[] fragment) throws IOException, DocumentException {
+        PdfReader reader = new PdfReader(fragment);
+        int pages = reader.getNumberOfPages();
+        for (int page = 1; page <= pages; page++) {
+            copy.addPage(copy.getImportedPage(reader, page));
+        }
+        copy.freeReader(reader);
+        reader.close();
+        return pages;
+    }
 
+    /**
+     * Renders a single room into a standalone PDF fragment.
+     */
+    public byte[] renderRoom(SeatingPlan seatingPlan, SeatingPlan.RoomSeating room) throws DocumentException {
+        ByteArrayOutputStream fragment = new ByteArrayOutputStream();
+        Document document = newDocument();
+        PdfWriter.getInstance(document, fragment);
+        document.open();
+        addRoom(document, seatingPlan, room);
+        document.close();
+        return fragment.toByteArray();
+    }
+
+    /**
+     * Receives the room packets of {@link #generateRoomPackets}, in room order.
+     */
+    @FunctionalInterface
+    public interface RoomPacketConsumer {
+        void accept(SeatingPlan.RoomSeating room, byte[] pdf) throws IOException;
+    }
+
+    /**
+     * Renders a packet per occupied room, in parallel when configured, and hands each one to the consumer
+     * in room order as soon as it and the packets before it are ready. Returns the number of pages.
+     */
+    public int generateRoomPackets(SeatingPlan seatingPlan, RoomPacketConsumer consumer) throws IOException {
+        List<SeatingPlan.RoomSeating> rooms = new ArrayList<>();
+        for (SeatingPlan.RoomSeating room : seatingPlan.getRooms()) {
+            if (room.usedRows() > 0) rooms.add(room); // Skip rooms nobody is seated in
+        }
 
-            BaseFont baseFont = BaseFont.createFont(BaseFont.HELVETICA, BaseFont.CP1252, BaseFont.EMBEDDED);
-
-            for (Map.Entry<String, List<List<String>>> entry : seatingPlan.entrySet()) {
-                String roomNumber = entry.getKey();
-                List<List<String>> roomLayout = entry.getValue();
-
-                // Add room header
-                Paragraph header = new Paragraph("Room: " + roomNumber, new Font(baseFont, 16, Font.BOLD));
-                header.setSpacingAfter(10);
-                document.add(header);
-
-                Paragraph subHeader = new Paragraph("Whiteboard this side", new Font(baseFont, 12));
-                subHeader.setSpacingAfter(20);
-                document.add(subHeader);
-
-                // Create table
-                PdfPTable table = new PdfPTable(roomLayout.get(0).size()); // Columns = size of a row
-                table.setWidthPercentage(100);
-
-                // Set equal column widths
-                float[] columnWidths = new float[roomLayout.get(0).size()];
-                Arrays.fill(columnWidths, 1f);
-                table.setWidths(columnWidths);
-
-                // Add rows and cells
-                for (List<String> row : roomLayout) {
-                    for (String seatContent : row) {
-                        PdfPCell cell = new PdfPCell();
-                        String[] lines = seatContent.split("\n");
-
-                        Paragraph cellPara = new Paragraph();
-                        cellPara.add(new Chunk(lines[0] + "\n", new Font(baseFont, 8))); // Seat label
-                        for (int i = 1; i < lines.length; i++) {
-                            cellPara.add(new Chunk(lines[i] + "\n", new Font(baseFont, 10))); // Student details
-                        }
-
-                        cell.addElement(cellPara);
-                        cell.setMinimumHeight(75);
-                        cell.setVerticalAlignment(Element.ALIGN_MIDDLE);
-                        cell.setPadding(5);
-                        table.addCell(cell);
-                    }
+        int pages = 0;
+        if (renderPool == null || rooms.size() < 2) {
+            try {
+                for (SeatingPlan.RoomSeating room : rooms) {
+                    RoomPacket packet = renderPacket(seatingPlan, room);
+                    consumer.accept(room, packet.pdf());
+                    pages += packet.pages();
                 }
+            } catch (DocumentException e) {
+                throw new RuntimeException("Error generating PDF: " + e.getMessage(), e);
+            }
+            return pages;
+        }
 
-                document.add(table);
-                document.newPage(); // New page for each room
+        List<Future<RoomPacket>> packets = new ArrayList<>(rooms.size());
+        for (SeatingPlan.RoomSeating room : rooms) {
+            packets.add(renderPool.submit(() -> renderPacket(seatingPlan, room)));
+        }
+        try {
+            for (int r = 0; r < rooms.size(); r++) {
+                RoomPacket packet = packets.get(r).get();
+                consumer.accept(rooms.get(r), packet.pdf());
+                pages += packet.pages();
             }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while rendering room packets", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Error generating PDF: " + e.getCause().getMessage(), e.getCause());
+        } finally {
+            packets.forEach(packet -> packet.cancel(false));
+        }
+        return pages;
+    }
 
-            document.close();
-            System.out.println("PDF generated successfully at: " + filePath);
+    /**
+     * Renders the door sheet and the attendance list of a single room into a standalone PDF.
+     */
+    public byte[] renderRoomPacket(SeatingPlan seatingPlan, SeatingPlan.RoomSeating room) throws DocumentException {
+        return renderPacket(seatingPlan, room).pdf();
+    }
 
-        } catch (Exception e) {
-            throw new RuntimeException("Error generating PDF: " + e.getMessage(), e);
+    private RoomPacket renderPacket(SeatingPlan seatingPlan, SeatingPlan.RoomSeating room) throws DocumentException {
+        ByteArrayOutputStream packet = new ByteArrayOutputStream();
+        Document document = newDocument();
+        PdfWriter writer = PdfWriter.getInstance(document, packet);
+        PageCounter pageCounter = new PageCounter();
+        writer.setPageEvent(pageCounter);
+        document.open();
+        addRoom(document, seatingPlan, room);
+        document.newPage();
+        addAttendanceList(document, seatingPlan, room);
+        document.close();
+        return new RoomPacket(packet.toByteArray(), pageCounter.pages);
+    }
+
+    private record RoomPacket(byte[] pdf, int pages) {
+    }
+
+    private Document newDocument() {
+        return new Document(PageSize.A4.rotate(), 36, 36, 36, 36);
+    }
+
+    private void addRoom(Document document, SeatingPlan seatingPlan, SeatingPlan.RoomSeating room)
+            throws DocumentException {
+        // Add room header
+        Paragraph header = new Paragraph("Room: " + room.getRoomNumber(), FONTS.header);
+        header.setSpacingAfter(10);
+        document.add(header);
+
+        Paragraph subHeader = new Paragraph("Whiteboard this side", FONTS.subHeader);
+        subHeader.setSpacingAfter(20);
+        document.add(subHeader);
+
+        // Create table, one column per seat position of a row
+        int seatsPerRow = room.getSeatsPerRow();
+        PdfPTable table = new PdfPTable(seatsPerRow);
+        table.setWidthPercentage(100);
+
+        // Set equal column widths
+        float[] columnWidths = new float[seatsPerRow];
+        Arrays.fill(columnWidths, 1f);
+        table.setWidths(columnWidths);
+
+        // Add rows and cells, labels are only formatted here
+        int usedRows = room.usedRows();
+        for (int r = 0; r < usedRows; r++) {
+            for (int p = 0; p < seatsPerRow; p++) {
+                PdfPCell cell = new PdfPCell(FONTS.seatCell);
+                int studentIndex = room.studentAt(r, p);
+                if (studentIndex != SeatingPlan.EMPTY) {
+                    Paragraph cellPara = new Paragraph();
+                    cellPara.add(new Chunk(seatingPlan.seatLabel(room, r, p) + "\n", FONTS.seat)); // Seat label
+                    cellPara.add(new Chunk(seatingPlan.studentLabel(studentIndex) + "\n", FONTS.student)); // Student details
+                    cell.addElement(cellPara);
+                } else if (room.isBlocked(r * seatsPerRow + p)) {
+                    cell.addElement(new Paragraph("Blocked", FONTS.seat));
+                }
+                table.addCell(cell);
+            }
+        }
+
+        document.add(table);
+    }
+
+    // One row per seated student in seat order, with an empty cell to sign in
+    private void addAttendanceList(Document document, SeatingPlan seatingPlan, SeatingPlan.RoomSeating room)
+            throws DocumentException {
+        Paragraph header = new Paragraph("Attendance: Room " + room.getRoomNumber(), FONTS.header);
+        header.setSpacingAfter(10);
+        document.add(header);
+
+        Paragraph subHeader = new Paragraph("Students: " + room.occupiedCount(), FONTS.subHeader);
+        subHeader.setSpacingAfter(20);
+        document.add(subHeader);
+
+        List<Student> students = seatingPlan.getStudents();
+        PdfPTable table = new PdfPTable(FONTS.attendanceTable);
+        for (int r = 0; r < room.getRows(); r++) {
+            for (int p = 0; p < room.getSeatsPerRow(); p++) {
+                int studentIndex = room.studentAt(r, p);
+                if (studentIndex == SeatingPlan.EMPTY) continue;
+                Student student = students.get(studentIndex);
+                table.addCell(attendanceCell(seatingPlan.seatLabel(room, r, p)));
+                table.addCell(attendanceCell(student.getRollNumber()));
+                table.addCell(attendanceCell(student.getName()));
+                table.addCell(attendanceCell(student.getClassName()));
+                table.addCell(new PdfPCell(FONTS.signatureCell));
+            }
+        }
+        document.add(table);
+    }
+
+    private static PdfPCell attendanceCell(String text) {
+        PdfPCell cell = new PdfPCell(FONTS.attendanceCell);
+        cell.setPhrase(new Phrase(text == null ? "" : text, FONTS.student));
+        return cell;
+    }
+
+    private static final class PageCounter extends PdfPageEventHelper {
+        private int pages;
+
+        @Override
+        public void onEndPage(PdfWriter writer, Document document) {
+            pages++;
+        }
+    }
+
+    // Fonts, cell and table templates shared by every render, never modified after creation; renders copy them
+    private record Fonts(Font header, Font subHeader, Font seat, Font student, PdfPCell seatCell,
+                         PdfPCell attendanceCell, PdfPCell signatureCell, PdfPTable attendanceTable) {
+
+        static Fonts create() {
+            try {
+                BaseFont baseFont = BaseFont.createFont(BaseFont.HELVETICA, BaseFont.CP1252, BaseFont.EMBEDDED);
+
+                PdfPCell seatCell = new PdfPCell();
+                seatCell.setMinimumHeight(75);
+                seatCell.setVerticalAlignment(Element.ALIGN_MIDDLE);
+                seatCell.setPadding(5);
+
+                PdfPCell attendanceCell = new PdfPCell();
+                attendanceCell.setMinimumHeight(22);
+                attendanceCell.setVerticalAlignment(Element.ALIGN_MIDDLE);
+                attendanceCell.setPadding(4);
+
+                PdfPCell signatureCell = new PdfPCell(attendanceCell);
+
+                // Header row repeats on every page of long lists
+                Font columnFont = new Font(baseFont, 10, Font.BOLD);
+                PdfPTable attendanceTable = new PdfPTable(new float[]{2f, 2.5f, 5f, 2f, 4f});
+                attendanceTable.setWidthPercentage(100);
+                attendanceTable.setHeaderRows(1);
+                for (String column : new String[]{"Seat", "Roll number", "Name", "Class", "Signature"}) {
+                    PdfPCell columnCell = new PdfPCell(attendanceCell);
+                    columnCell.setPhrase(new Phrase(column, columnFont));
+                    columnCell.setGrayFill(0.9f);
+                    attendanceTable.addCell(columnCell);
+                }
+
+                return new Fonts(
+                        new Font(baseFont, 16, Font.BOLD),
+                        new Font(baseFont, 12),
+                        new Font(baseFont, 8),
+                        new Font(baseFont, 10),
+                        seatCell,
+                        attendanceCell,
+                        signatureCell,
+                        attendanceTable
+                );
+            } catch (DocumentException | IOException e) {
+                throw new IllegalStateException("Could not load PDF fonts", e);
+            }
         }
     }
 }
@@ -3,27 +3,156 @@ package com.seating.exam_seating_arrangement_system.seating;
 
 import io.swagger.v3.oas.annotations.media.Schema;
 
+import java.util.BitSet;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
 public class Room {
+    // A bench (R2C3), a whole row (R2) or a whole column (C3)
+    private static final Pattern SEAT_REFERENCE = Pattern.compile("R(\\d+)(?:C(\\d+))?|C(\\d+)");
+    private static final Pattern SEAT_SEPARATOR = Pattern.compile("[;,\\s]+");
+
     @Schema(description = "Room number or identifier", example = "101", required = true)
     String roomNumber;
     int totalCapacity;
     int rows;
     int columns;
     int studentsPerSeat;
+    // Seat attributes as given, and the benches they refer to (row * columns + column)
+    private final String accessibleSeats;
+    private final String blockedSeats;
+    private final int frontRows;
+    private final BitSet accessibleBenches;
+    private final BitSet blockedBenches;
 
     public Room(String roomNumber, int totalCapacity, int rows, int columns, int studentsPerSeat) {
+        this(roomNumber, totalCapacity, rows, columns, studentsPerSeat, null, null, 1);
+    }
+
+    /**
+     * Room with seat attributes. Accessible and blocked seats are lists of benches ({@code R2C3}), rows
+     * ({@code R2}) or columns ({@code C3}), separated by spaces, commas or semicolons. Blocked benches are
+     * never used; accessible benches and the first {@code frontRows} rows serve students with the matching
+     * requirements in constrained allocations.
+     */
+    public Room(String roomNumber, int totalCapacity, int rows, int columns, int studentsPerSeat,
+                String accessibleSeats, String blockedSeats, int frontRows) {
         this.roomNumber = roomNumber;
         this.totalCapacity = totalCapacity;
         this.rows = rows;
         this.columns = columns;
         this.studentsPerSeat = studentsPerSeat;
+        this.accessibleSeats = blankToNull(accessibleSeats);
+        this.blockedSeats = blankToNull(blockedSeats);
+        if (rows < 1 || columns < 1 || studentsPerSeat < 1 || totalCapacity < 1) {
+            throw new IllegalArgumentException("Rows, columns, students per seat and capacity of room " + roomNumber
+                    + " must be at least 1");
+        }
+        if (frontRows < 0) {
+            throw new IllegalArgumentException("Front rows of room " + roomNumber + " must not be negative");
+        }
+        this.frontRows = frontRows;
+        this.accessibleBenches = parseBenches(this.accessibleSeats);
+        this.blockedBenches = parseBenches(this.blockedSeats);
     }
+
     public int calculateTotalSeats() {
         return rows * columns * studentsPerSeat;
     }
 
+    // Physical seats that are not blocked
+    public int openSeats() {
+        return calculateTotalSeats() - blockedBenches.cardinality() * studentsPerSeat;
+    }
+
+    // Seats that may actually be used: the open seats, limited by the room's declared capacity
+    public int usableSeats() {
+        int seats = openSeats();
+        return Math.min(totalCapacity, seats);
+    }
+
+    public boolean hasBlockedSeats() {
+        return !blockedBenches.isEmpty();
+    }
+
+    public boolean isBlocked(int row, int column) {
+        return blockedBenches.get(row * columns + column);
+    }
+
+    public boolean isAccessible(int row, int column) {
+        return accessibleBenches.get(row * columns + column);
+    }
+
+    public boolean isFront(int row) {
+        return row < frontRows;
+    }
+
+    private BitSet parseBenches(String seats) {
+        BitSet benches = new BitSet(rows * columns);
+        if (seats == null) return benches;
+        for (String reference : SEAT_SEPARATOR.split(seats.trim().toUpperCase(Locale.ROOT))) {
+            Matcher matcher = SEAT_REFERENCE.matcher(reference);
+            if (!matcher.matches()) {
+                throw new IllegalArgumentException("Invalid seat '" + reference + "' for room " + roomNumber
+                        + ", expected a bench like R2C3, a row like R2 or a column like C3");
+            }
+            int row = matcher.group(1) != null ? seatNumber(reference, matcher.group(1), rows) : -1;
+            int column = matcher.group(2) != null ? seatNumber(reference, matcher.group(2), columns)
+                    : matcher.group(3) != null ? seatNumber(reference, matcher.group(3), columns) : -1;
+            for (int r = 0; r < rows; r++) {
+                if (row >= 0 && r != row) continue;
+                for (int c = 0; c < columns; c++) {
+                    if (column < 0 || c == column) benches.set(r * columns + c);
+                }
+            }
+        }
+        return benches;
+    }
+
+    private int seatNumber(String reference, String number, int limit) {
+        int value = Integer.parseInt(number);
+        if (value < 1 || value > limit) {
+            throw new IllegalArgumentException("Seat " + reference + " is outside room " + roomNumber
+                    + " with " + rows + " rows and " + columns + " columns");
+        }
+        return value - 1;
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+
+
+    public String getRoomNumber() {
+        return roomNumber;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getColumns() {
+        return columns;
+    }
+
+    public int getStudentsPerSeat() {
+        return studentsPerSeat;
+    }
 
     public int getTotalCapacity() {
         return totalCapacity;
     }
+
+    public String getAccessibleSeats() {
+        return accessibleSeats;
+    }
+
+    public String getBlockedSeats() {
+        return blockedSeats;
+    }
+
+    public int getFrontRows() {
+        return frontRows;
+    }
 }
\ No newline at end of file
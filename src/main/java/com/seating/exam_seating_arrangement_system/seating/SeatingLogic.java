@@ -1,120 +1,513 @@
 package com.seating.exam_seating_arrangement_system.seating;
 
 
-import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.DataFormatter;
 import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.ss.usermodel.Sheet;
 import org.apache.poi.ss.usermodel.Workbook;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.apache.poi.ss.usermodel.WorkbookFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.*;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
 
 public class SeatingLogic {
 
     private static final Logger logger = LoggerFactory.getLogger(SeatingLogic.class);
-    // Allocate students to rooms by roll number
-    public static Map<String, List<List<String>>> allocateByRollNumber(List<Student> students, List<Room> rooms) {
-        return allocateSeats(students, rooms, "rollNumber");
+    // Allocate students to rooms in natural roll number order ("CS2" before "CS10"), the list is not modified
+    public static SeatingPlan allocateByRollNumber(List<Student> students, List<Room> rooms) {
+        return allocateSeats(students, rooms, StudentOrder.byRollNumber(students), SeatingPlan.LabelFormat.ROLL_NUMBER);
     }
 
-    // Allocate students to rooms alphabetically
-    public static Map<String, List<List<String>>> allocateAlphabetically(List<Student> students, List<Room> rooms) {
-        // Sort students alphabetically by name
-        students.sort(Comparator.comparing(student -> student.name));
-        return allocateSeats(students, rooms, "name");
+    // Allocate students to rooms alphabetically, the list is not modified
+    public static SeatingPlan allocateAlphabetically(List<Student> students, List<Room> rooms) {
+        return allocateAlphabetically(students, rooms, Locale.ENGLISH);
     }
 
-    // Common method to allocate seats
-    private static Map<String, List<List<String>>> allocateSeats(List<Student> students, List<Room> rooms, String displayType) {
-        Map<String, List<List<String>>> roomSeating = new LinkedHashMap<>();
-        int currentStudentIndex = 0;
+    // Allocate students to rooms alphabetically using the collation rules of the given locale
+    public static SeatingPlan allocateAlphabetically(List<Student> students, List<Room> rooms, Locale locale) {
+        return allocateSeats(students, rooms, StudentOrder.byName(students, locale), SeatingPlan.LabelFormat.NAME);
+    }
+
+    // Allocate students to rooms in a random order fixed by the seed, so a plan can be regenerated for audits
+    public static SeatingPlan allocateRandomly(List<Student> students, List<Room> rooms, long seed,
+                                               SeatingPlan.LabelFormat labelFormat) {
+        return allocateSeats(students, rooms, StudentOrder.shuffled(students.size(), seed), labelFormat);
+    }
+
+    /**
+     * Allocates seats so that neighbouring seats (same bench, left/right and front/back) hold students
+     * of different classes wherever possible.
+     * <p>
+     * Students are bucketed by class, keeping their input order inside a class. Seats are filled row by row,
+     * each time taking the class with the most students left that differs from the left and front
+     * neighbour. Picking the largest bucket first keeps the classes balanced so that a single large class is
+     * not left over at the end. Like every arrangement, each room takes at most {@link Room#usableSeats()}
+     * students. Runs in O(n log k) for n students and k classes. Adjacent pairs that could not be separated are
+     * reported by {@link SeatingPlan#getConstraintViolations()}.
+     */
+    public static SeatingPlan allocateInterleaved(List<Student> students, List<Room> rooms) {
+        SeatingPlan plan = new SeatingPlan(students, SeatingPlan.LabelFormat.ROLL_NUMBER);
+
+        // Bucket student indices by class
+        Map<String, Integer> classIds = new HashMap<>();
+        int[] classOf = new int[students.size()];
+        for (int i = 0; i < students.size(); i++) {
+            classOf[i] = classIds.computeIfAbsent(students.get(i).className, className -> classIds.size());
+        }
+        int[][] buckets = new int[classIds.size()][];
+        int[] bucketSizes = new int[classIds.size()];
+        for (int classId : classOf) bucketSizes[classId]++;
+        for (int c = 0; c < buckets.length; c++) buckets[c] = new int[bucketSizes[c]];
+        int[] filled = new int[buckets.length];
+        for (int i = 0; i < classOf.length; i++) buckets[classOf[i]][filled[classOf[i]]++] = i;
+
+        // Largest remaining class first, ties broken by first appearance
+        int[] taken = new int[buckets.length];
+        PriorityQueue<Integer> largestFirst = new PriorityQueue<>((a, b) -> {
+            int remaining = Integer.compare(buckets[b].length - taken[b], buckets[a].length - taken[a]);
+            return remaining != 0 ? remaining : Integer.compare(a, b);
+        });
+        for (int c = 0; c < buckets.length; c++) {
+            if (buckets[c].length > 0) largestFirst.add(c);
+        }
 
+        int seated = 0;
+        int violations = 0;
+        int[] skipped = new int[2];
         for (Room room : rooms) {
-            List<List<String>> roomLayout = new ArrayList<>();
-            int totalStudentsPerRow = room.columns * room.studentsPerSeat;
-
-            for (int r = 0; r < room.rows; r++) {
-                List<String> row = new ArrayList<>();
-                for (int c = 0; c < totalStudentsPerRow && currentStudentIndex < students.size(); c++) {
-                    Student student = students.get(currentStudentIndex++);
-                    String seatLabel = "SeatR" + (r + 1) + "C" + ((c / room.studentsPerSeat) + 1);
-                    String seatContent = displayType.equals("rollNumber")
-                            ? seatLabel + "\nRoll No: " + student.rollNumber
-                            : seatLabel + "\nName: " + student.name;
-                    row.add(seatContent);
+            if (largestFirst.isEmpty()) break; // All students are seated
+            SeatingPlan.RoomSeating roomSeating = plan.addRoom(room);
+            int seatsPerRow = roomSeating.getSeatsPerRow();
+            // Seats past the usable limit would exceed the room's capacity
+            int[] seatClass = new int[roomSeating.usableLimit()];
+
+            for (int seat = 0; seat < seatClass.length && !largestFirst.isEmpty(); seat++) {
+                if (roomSeating.isBlocked(seat)) {
+                    seatClass[seat] = -1;
+                    continue;
                 }
-                roomLayout.add(row);
-            }
+                int left = seat % seatsPerRow > 0 ? seatClass[seat - 1] : -1;
+                int front = seat >= seatsPerRow ? seatClass[seat - seatsPerRow] : -1;
 
-            roomSeating.put(room.roomNumber, roomLayout);
+                // At most two classes are excluded, so the third largest class always fits
+                int skippedCount = 0;
+                int chosen = largestFirst.poll();
+                while ((chosen == left || chosen == front) && !largestFirst.isEmpty() && skippedCount < 2) {
+                    skipped[skippedCount++] = chosen;
+                    chosen = largestFirst.poll();
+                }
+                if (chosen == left || chosen == front) {
+                    // Every remaining class clashes with a neighbour, take the largest one
+                    if (skippedCount > 0) {
+                        int largest = skipped[0];
+                        skipped[0] = chosen;
+                        chosen = largest;
+                    }
+                    if (chosen == left) violations++;
+                    if (chosen == front) violations++;
+                }
+                for (int i = 0; i < skippedCount; i++) largestFirst.add(skipped[i]);
 
-            if (currentStudentIndex >= students.size()) break; // All students are seated
+                seatClass[seat] = chosen;
+                roomSeating.assign(seat, buckets[chosen][taken[chosen]++]);
+                seated++;
+                if (taken[chosen] < buckets[chosen].length) largestFirst.add(chosen);
+            }
         }
 
-        if (currentStudentIndex < students.size()) {
-            int remainingStudents = students.size() - currentStudentIndex;
+        plan.setConstraintViolations(violations);
+        if (seated < students.size()) {
+            int remainingStudents = students.size() - seated;
+            plan.setUnseatedCount(remainingStudents);
             logger.warn("Not enough room capacity for " + remainingStudents + " students.");
         }
+        if (violations > 0) {
+            logger.warn("Interleaved allocation left {} neighbouring seats with the same class.", violations);
+        }
 
-        return roomSeating;
+        return plan;
     }
 
-    public List<Student> readStudentsFromExcel(String studentExcelPath) throws IOException {
-        List<Student> students = new ArrayList<>();
-        try (FileInputStream fis = new FileInputStream(studentExcelPath);
-             Workbook workbook = new XSSFWorkbook(fis)) {
+    /**
+     * Seats all students in as few rooms as possible, each room filled up to {@link Room#usableSeats()}.
+     * <p>
+     * Every student takes exactly one seat, so first-fit-decreasing reduces to opening the largest rooms until
+     * everybody fits, which gives the minimum number of rooms. A local improvement pass then swaps each opened
+     * room, largest first, for the smallest unused room that still covers everybody, reducing leftover capacity
+     * without opening more rooms. Runs in O(m log m) for m rooms. Opened rooms keep their input order and
+     * students are seated in natural roll number order.
+     */
+    public static SeatingPlan allocatePacked(List<Student> students, List<Room> rooms) {
+        int studentCount = students.size();
+        Integer[] bySize = new Integer[rooms.size()];
+        for (int i = 0; i < bySize.length; i++) bySize[i] = i;
+        Arrays.sort(bySize, (a, b) -> Integer.compare(rooms.get(b).usableSeats(), rooms.get(a).usableSeats()));
 
-            Sheet sheet = workbook.getSheetAt(0);
+        // Open the largest rooms until everybody fits
+        boolean[] opened = new boolean[rooms.size()];
+        List<Integer> openedBySize = new ArrayList<>();
+        long openedSeats = 0;
+        int next = 0;
+        while (openedSeats < studentCount && next < bySize.length && rooms.get(bySize[next]).usableSeats() > 0) {
+            int room = bySize[next++];
+            opened[room] = true;
+            openedBySize.add(room);
+            openedSeats += rooms.get(room).usableSeats();
+        }
 
-            for (Row row : sheet) {
-                if (row.getRowNum() == 0) continue; // Skip header row
+        // Unused rooms by usable seats, for the swap lookups
+        TreeMap<Integer, Deque<Integer>> unused = new TreeMap<>();
+        for (; next < bySize.length; next++) {
+            int room = bySize[next];
+            int seats = rooms.get(room).usableSeats();
+            if (seats > 0) unused.computeIfAbsent(seats, size -> new ArrayDeque<>()).add(room);
+        }
 
-                String rollNumber = row.getCell(0).getCellType() == CellType.NUMERIC
-                        ? String.valueOf((int) row.getCell(0).getNumericCellValue())
-                        : row.getCell(0).getStringCellValue();
+        // Swap opened rooms for smaller unused ones while the slack allows it
+        for (int i = 0; i < openedBySize.size() && openedSeats > studentCount; i++) {
+            int room = openedBySize.get(i);
+            int seats = rooms.get(room).usableSeats();
+            long slack = openedSeats - studentCount;
+            Integer smallerSeats = unused.ceilingKey((int) Math.max(1, seats - slack));
+            if (smallerSeats == null || smallerSeats >= seats) continue;
+
+            Deque<Integer> candidates = unused.get(smallerSeats);
+            int replacement = candidates.poll();
+            if (candidates.isEmpty()) unused.remove(smallerSeats);
+            unused.computeIfAbsent(seats, size -> new ArrayDeque<>()).add(room);
+            opened[room] = false;
+            opened[replacement] = true;
+            openedBySize.set(i, replacement);
+            openedSeats += smallerSeats - seats;
+        }
+
+        List<Room> openedRooms = new ArrayList<>(openedBySize.size());
+        for (int i = 0; i < rooms.size(); i++) {
+            if (opened[i]) openedRooms.add(rooms.get(i));
+        }
+
+        SeatingPlan plan = new SeatingPlan(students, SeatingPlan.LabelFormat.ROLL_NUMBER);
+        int seated = seatInOrder(plan, openedRooms, StudentOrder.byRollNumber(students));
+        reportUnseated(plan, studentCount - seated);
+        logger.info("Packed {} students into {} of {} rooms, {} seats left over",
+                seated, plan.getRooms().size(), rooms.size(), plan.getLeftoverCapacity());
+        return plan;
+    }
 
-                String name = row.getCell(1).getStringCellValue();
-                String className = row.getCell(2).getStringCellValue();
+    /**
+     * Seats students with requirements ({@link Student#getRequirements()}) first, then everybody else in
+     * natural roll number order.
+     * <p>
+     * Open benches are grouped by their attributes: accessible, front (in the room's front rows), both or
+     * neither. Students with requirements are placed most constrained first: students that need a bench of their
+     * own take a whole empty bench, then the others take single seats. Each student gets the first bench, in room
+     * order, of the least specific group that meets all of their requirements, so accessible front benches stay
+     * free for students that need both. For these nested groups that places as many students as any assignment
+     * could. Students whose requirements cannot be met are still seated where possible, counted as constraint
+     * violations and reported by {@link SeatingPlan#getUnmetRequirements()}. Blocked seats and room capacities
+     * are respected. Runs in O(n log n + s) for n students and s seats.
+     */
+    public static SeatingPlan allocateConstrained(List<Student> students, List<Room> rooms) {
+        ConstrainedSeats seats = new ConstrainedSeats(rooms);
+        int[] order = StudentOrder.byRollNumber(students);
+        boolean[] placed = new boolean[students.size()];
+        int seated = 0;
+        List<Integer> unmet = new ArrayList<>();
 
-                students.add(new Student(rollNumber, name, className));
+        // Bench of their own first, then single seats; within both, students needing more attributes go first
+        for (boolean separate : new boolean[]{true, false}) {
+            for (int need = ConstrainedSeats.BOTH; need >= ConstrainedSeats.NONE; need--) {
+                seats.resetCursors();
+                for (int student : order) {
+                    Set<Student.Requirement> requirements = students.get(student).requirements;
+                    if (requirements.isEmpty() || ConstrainedSeats.needOf(requirements) != need
+                            || requirements.contains(Student.Requirement.SEPARATE) != separate) {
+                        continue;
+                    }
+                    if (seats.placeRequired(student, need, separate)) {
+                        placed[student] = true;
+                        seated++;
+                    } else {
+                        unmet.add(student);
+                    }
+                }
+            }
+        }
+
+        for (int student : order) {
+            if (!placed[student] && seats.placeAnywhere(student)) seated++;
+        }
+
+        SeatingPlan plan = seats.toPlan(students);
+        plan.setConstraintViolations(unmet.size());
+        plan.setUnmetRequirements(List.copyOf(unmet));
+        reportUnseated(plan, students.size() - seated);
+        if (!unmet.isEmpty()) {
+            logger.warn("Requirements of {} students could not be met, e.g. {}", unmet.size(),
+                    unmet.stream().limit(10).map(student -> students.get(student).rollNumber).toList());
+        }
+        return plan;
+    }
+
+    /**
+     * Seats of all rooms while a constrained allocation is decided, with the open benches of every attribute
+     * group in room order. A cursor per group only moves forward: benches that are full, or no longer empty when
+     * a whole bench is needed, stay that way.
+     */
+    private static final class ConstrainedSeats {
+        static final int NONE = 0;
+        static final int FRONT = 1;
+        static final int ACCESSIBLE = 2;
+        static final int BOTH = FRONT | ACCESSIBLE;
+        // Groups that meet a need, least specific first
+        private static final int[][] CANDIDATES = {{NONE, FRONT, ACCESSIBLE, BOTH}, {FRONT, BOTH}, {ACCESSIBLE, BOTH}, {BOTH}};
+        // Positions of blocked benches and the rest of benches taken by one student
+        private static final int RESERVED = -2;
+
+        private final List<Room> rooms;
+        private final int[][] seats;
+        private final int[] free;
+        private final int[][] groupRooms = new int[4][];
+        private final int[][] groupBenches = new int[4][];
+        private final int[] cursors = new int[4];
+        private int fillRoom;
+        private int fillSeat;
+
+        ConstrainedSeats(List<Room> rooms) {
+            this.rooms = rooms;
+            this.seats = new int[rooms.size()][];
+            this.free = new int[rooms.size()];
+            int[] groupSizes = new int[4];
+            for (int r = 0; r < rooms.size(); r++) {
+                Room room = rooms.get(r);
+                seats[r] = new int[room.calculateTotalSeats()];
+                Arrays.fill(seats[r], SeatingPlan.EMPTY);
+                free[r] = room.usableSeats();
+                for (int bench = 0; bench < room.rows * room.columns; bench++) {
+                    int group = groupOf(room, bench);
+                    if (group >= 0) {
+                        groupSizes[group]++;
+                    } else {
+                        Arrays.fill(seats[r], bench * room.studentsPerSeat, (bench + 1) * room.studentsPerSeat, RESERVED);
+                    }
+                }
+            }
+            for (int group = 0; group < 4; group++) {
+                groupRooms[group] = new int[groupSizes[group]];
+                groupBenches[group] = new int[groupSizes[group]];
             }
+            int[] filled = new int[4];
+            for (int r = 0; r < rooms.size(); r++) {
+                Room room = rooms.get(r);
+                for (int bench = 0; bench < room.rows * room.columns; bench++) {
+                    int group = groupOf(room, bench);
+                    if (group < 0) continue;
+                    groupRooms[group][filled[group]] = r;
+                    groupBenches[group][filled[group]++] = bench;
+                }
+            }
+        }
+
+        // Attribute group of a bench, -1 when it is blocked
+        private static int groupOf(Room room, int bench) {
+            int row = bench / room.columns;
+            int column = bench % room.columns;
+            if (room.isBlocked(row, column)) return -1;
+            return (room.isFront(row) ? FRONT : NONE) | (room.isAccessible(row, column) ? ACCESSIBLE : NONE);
+        }
+
+        static int needOf(Set<Student.Requirement> requirements) {
+            return (requirements.contains(Student.Requirement.FRONT) ? FRONT : NONE)
+                    | (requirements.contains(Student.Requirement.ACCESSIBLE) ? ACCESSIBLE : NONE);
+        }
+
+        void resetCursors() {
+            Arrays.fill(cursors, 0);
+        }
+
+        boolean placeRequired(int student, int need, boolean separate) {
+            for (int group : CANDIDATES[need]) {
+                for (; cursors[group] < groupRooms[group].length; cursors[group]++) {
+                    int room = groupRooms[group][cursors[group]];
+                    if (free[room] == 0) continue;
+                    int first = groupBenches[group][cursors[group]] * rooms.get(room).studentsPerSeat;
+                    int last = first + rooms.get(room).studentsPerSeat;
+                    int seat = separate ? (isEmpty(seats[room], first, last) ? first : -1) : freeSeat(seats[room], first, last);
+                    if (seat < 0) continue;
+                    seats[room][seat] = student;
+                    if (separate) Arrays.fill(seats[room], first + 1, last, RESERVED);
+                    free[room]--;
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        // Next free seat in room order, row by row
+        boolean placeAnywhere(int student) {
+            for (; fillRoom < seats.length; fillRoom++, fillSeat = 0) {
+                if (free[fillRoom] == 0) continue;
+                int[] roomSeats = seats[fillRoom];
+                while (fillSeat < roomSeats.length && roomSeats[fillSeat] != SeatingPlan.EMPTY) fillSeat++;
+                if (fillSeat == roomSeats.length) continue;
+                roomSeats[fillSeat++] = student;
+                free[fillRoom]--;
+                return true;
+            }
+            return false;
+        }
+
+        SeatingPlan toPlan(List<Student> students) {
+            SeatingPlan plan = new SeatingPlan(students, SeatingPlan.LabelFormat.ROLL_NUMBER);
+            for (int r = 0; r < rooms.size(); r++) {
+                if (!isOccupied(seats[r])) continue;
+                SeatingPlan.RoomSeating roomSeating = plan.addRoom(rooms.get(r));
+                for (int seat = 0; seat < seats[r].length; seat++) {
+                    if (seats[r][seat] >= 0) {
+                        roomSeating.assign(seat, seats[r][seat]);
+                    } else if (seats[r][seat] == RESERVED && !roomSeating.isBlocked(seat)) {
+                        // Kept empty in the plan too, so later edits do not fill benches taken by one student
+                        roomSeating.setReserved(seat, true);
+                    }
+                }
+            }
+            return plan;
+        }
+
+        private static boolean isEmpty(int[] seats, int from, int to) {
+            for (int seat = from; seat < to; seat++) {
+                if (seats[seat] != SeatingPlan.EMPTY) return false;
+            }
+            return true;
+        }
+
+        private static int freeSeat(int[] seats, int from, int to) {
+            for (int seat = from; seat < to; seat++) {
+                if (seats[seat] == SeatingPlan.EMPTY) return seat;
+            }
+            return -1;
+        }
+
+        private static boolean isOccupied(int[] seats) {
+            for (int seat : seats) {
+                if (seat >= 0) return true;
+            }
+            return false;
+        }
+    }
+
+    // Common method to allocate seats, rooms are filled row by row in input order
+    private static SeatingPlan allocateSeats(List<Student> students, List<Room> rooms, int[] order,
+                                             SeatingPlan.LabelFormat labelFormat) {
+        SeatingPlan plan = new SeatingPlan(students, labelFormat);
+        int seated = seatInOrder(plan, rooms, order);
+        reportUnseated(plan, students.size() - seated);
+        return plan;
+    }
+
+    /**
+     * Seats students in the given order (a permutation of student indices) into the rooms, row by row, up to
+     * {@link Room#usableSeats()} per room and skipping blocked seats.
+     * The slice of the order every room takes is computed up front, so large rosters fill their rooms in
+     * parallel. Rooms are only added to the plan while students are left. Returns the number of seated students.
+     */
+    private static int seatInOrder(SeatingPlan plan, List<Room> rooms, int[] order) {
+        int[] offsets = new int[rooms.size() + 1];
+        int roomCount = 0;
+        for (Room room : rooms) {
+            if (offsets[roomCount] >= order.length) break; // All students are seated
+            SeatingPlan.RoomSeating roomSeating = plan.addRoom(room);
+            offsets[roomCount + 1] = Math.min(order.length, offsets[roomCount] + room.usableSeats());
+            roomCount++;
+        }
+
+        List<SeatingPlan.RoomSeating> roomSeatings = plan.getRooms();
+        IntStream roomIndices = IntStream.range(0, roomCount);
+        if (order.length >= StudentOrder.PARALLEL_THRESHOLD) roomIndices = roomIndices.parallel();
+        roomIndices.forEach(r -> {
+            SeatingPlan.RoomSeating roomSeating = roomSeatings.get(r);
+            if (!roomSeating.getRoom().hasBlockedSeats()) {
+                for (int i = offsets[r]; i < offsets[r + 1]; i++) {
+                    roomSeating.assign(i - offsets[r], order[i]);
+                }
+                return;
+            }
+            int seat = 0;
+            for (int i = offsets[r]; i < offsets[r + 1]; i++, seat++) {
+                while (roomSeating.isBlocked(seat)) seat++;
+                roomSeating.assign(seat, order[i]);
+            }
+        });
+        return offsets[roomCount];
+    }
+
+    private static void reportUnseated(SeatingPlan plan, int remainingStudents) {
+        if (remainingStudents > 0) {
+            plan.setUnseatedCount(remainingStudents);
+            logger.warn("Not enough room capacity for " + remainingStudents + " students.");
+        }
+    }
+
+    public List<Student> readStudentsFromExcel(String studentExcelPath) throws IOException {
+        try (FileInputStream fis = new FileInputStream(studentExcelPath)) {
+            return readStudentsFromExcel(fis);
         } catch (IOException e) {
             logger.error("Error reading student Excel file: " + studentExcelPath, e);
             throw e;
         }
+    }
+
+    public List<Student> readStudentsFromExcel(InputStream inputStream) throws IOException {
+        List<Student> students = new ArrayList<>();
+        readRowsFromExcel(inputStream, StreamingExcelReader.STUDENT_COLUMNS,
+                row -> students.add(StreamingExcelReader.toStudent(row)));
         return students;
     }
 
     // Read room data from Excel
     public List<Room> readRoomsFromExcel(String roomExcelPath) throws IOException {
+        try (FileInputStream fis = new FileInputStream(roomExcelPath)) {
+            return readRoomsFromExcel(fis);
+        } catch (IOException e) {
+            logger.error("Error reading room Excel file: " + roomExcelPath, e);
+            throw e;
+        }
+    }
+
+    public List<Room> readRoomsFromExcel(InputStream inputStream) throws IOException {
         List<Room> rooms = new ArrayList<>();
-        try (FileInputStream fis = new FileInputStream(roomExcelPath);
-             Workbook workbook = new XSSFWorkbook(fis)) {
+        readRowsFromExcel(inputStream, StreamingExcelReader.ROOM_COLUMNS,
+                row -> rooms.add(StreamingExcelReader.toRoom(row)));
+        return rooms;
+    }
+
+    // Cells are formatted as shown in Excel, so rows are validated like those of the streaming reader
+    private void readRowsFromExcel(InputStream inputStream, int columns, Consumer<StreamingExcelReader.ParsedRow> rowConsumer)
+            throws IOException {
+        DataFormatter formatter = new DataFormatter();
+        formatter.setUseCachedValuesForFormulaCells(true);
+        // .xlsx and .xls, so both readers accept the same uploads
+        try (Workbook workbook = WorkbookFactory.create(inputStream)) {
 
             Sheet sheet = workbook.getSheetAt(0);
+            StreamingExcelReader.ParsedRow parsed = new StreamingExcelReader.ParsedRow(columns);
 
             for (Row row : sheet) {
                 if (row.getRowNum() == 0) continue; // Skip header row
 
-                String roomNumber = row.getCell(0).getCellType() == CellType.NUMERIC
-                        ? String.valueOf((int) row.getCell(0).getNumericCellValue())
-                        : row.getCell(0).getStringCellValue();
-
-                int rows = (int) row.getCell(1).getNumericCellValue();
-                int columns = (int) row.getCell(2).getNumericCellValue();
-                int totalCapacity = (int) row.getCell(3).getNumericCellValue();
-                int studentsPerSeat = (int) row.getCell(4).getNumericCellValue();
-
-                rooms.add(new Room(roomNumber, totalCapacity, rows, columns, studentsPerSeat));
+                parsed.reset(row.getRowNum());
+                for (Cell cell : row) {
+                    parsed.set(cell.getColumnIndex(), formatter.formatCellValue(cell));
+                }
+                if (!parsed.isBlank()) rowConsumer.accept(parsed);
             }
-        } catch (IOException e) {
-            logger.error("Error reading room Excel file: " + roomExcelPath, e);
-            throw e;
         }
-        return rooms;
     }
 }
@@ -0,0 +1,300 @@
+package com.seating.exam_seating_arrangement_system.seating;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compact result of a seat allocation.
+ * <p>
+ * Students are kept once in a shared table; every room stores a row-major {@code int[]} of indices into
+ * that table (or {@link #EMPTY} for a free seat). Empty seats that must stay empty, such as the rest of a bench
+ * taken by a student who needs it alone, are marked as reserved. Seat and student labels are only formatted when the plan
+ * is rendered, see {@link #seatLabel} and {@link #studentLabel}.
+ * <p>
+ * Plans that are shared between requests, such as cached ones, are made read-only with {@link #makeReadOnly};
+ * the lists returned by the getters are never modifiable.
+ */
+public class SeatingPlan {
+
+    public static final int EMPTY = -1;
+
+    // Rough heap footprint of a student and of a room, without their strings and seat arrays
+    private static final int STUDENT_OVERHEAD_BYTES = 64;
+    private static final int STRING_OVERHEAD_BYTES = 40;
+    private static final int ROOM_OVERHEAD_BYTES = 96;
+
+    public enum LabelFormat {
+        ROLL_NUMBER,
+        NAME
+    }
+
+    private final List<Student> students;
+    private final LabelFormat labelFormat;
+    private final List<RoomSeating> rooms = new ArrayList<>();
+    private int unseatedCount;
+    private int constraintViolations;
+    private List<Integer> unmetRequirements = List.of();
+    private volatile boolean readOnly;
+
+    public SeatingPlan(List<Student> students, LabelFormat labelFormat) {
+        this.students = students;
+        this.labelFormat = labelFormat;
+    }
+
+    RoomSeating addRoom(Room room) {
+        checkWritable();
+        RoomSeating roomSeating = new RoomSeating(this, room);
+        rooms.add(roomSeating);
+        return roomSeating;
+    }
+
+    void addStudent(Student student) {
+        checkWritable();
+        students.add(student);
+    }
+
+    void setUnseatedCount(int unseatedCount) {
+        checkWritable();
+        this.unseatedCount = unseatedCount;
+    }
+
+    void setConstraintViolations(int constraintViolations) {
+        checkWritable();
+        this.constraintViolations = constraintViolations;
+    }
+
+    void setUnmetRequirements(List<Integer> unmetRequirements) {
+        checkWritable();
+        this.unmetRequirements = unmetRequirements;
+    }
+
+    /**
+     * Rejects all further changes of the plan. Used before a plan is shared between requests.
+     */
+    public void makeReadOnly() {
+        readOnly = true;
+    }
+
+    public boolean isReadOnly() {
+        return readOnly;
+    }
+
+    private void checkWritable() {
+        if (readOnly) throw new IllegalStateException("Seating plan is read-only");
+    }
+
+    public List<Student> getStudents() {
+        return Collections.unmodifiableList(students);
+    }
+
+    public LabelFormat getLabelFormat() {
+        return labelFormat;
+    }
+
+    public List<RoomSeating> getRooms() {
+        return Collections.unmodifiableList(rooms);
+    }
+
+    // Students that did not fit into any room
+    public int getUnseatedCount() {
+        return unseatedCount;
+    }
+
+    // Neighbouring seat pairs that break the allocation constraints, 0 for unconstrained allocations
+    public int getConstraintViolations() {
+        return constraintViolations;
+    }
+
+    // Students whose requirements could not be met, as indices into the student table
+    public List<Integer> getUnmetRequirements() {
+        return Collections.unmodifiableList(unmetRequirements);
+    }
+
+    public int getSeatedCount() {
+        int seated = 0;
+        for (RoomSeating room : rooms) {
+            seated += room.occupiedCount();
+        }
+        return seated;
+    }
+
+    // Rooms with at least one student seated
+    public int getRoomsUsed() {
+        int used = 0;
+        for (RoomSeating room : rooms) {
+            if (room.occupiedCount() > 0) used++;
+        }
+        return used;
+    }
+
+    // Usable seats left free in the rooms that are in use; students seated beyond a room's capacity count against it
+    public int getLeftoverCapacity() {
+        int leftover = 0;
+        for (RoomSeating room : rooms) {
+            int occupied = room.occupiedCount();
+            if (occupied > 0) leftover += room.getRoom().usableSeats() - occupied;
+        }
+        return leftover;
+    }
+
+    // Approximate heap size of the plan in bytes, students and seat arrays included
+    public long estimatedSize() {
+        long size = 0;
+        for (Student student : students) {
+            size += STUDENT_OVERHEAD_BYTES + stringSize(student.rollNumber) + stringSize(student.name)
+                    + stringSize(student.className) + stringSize(student.session);
+        }
+        for (RoomSeating room : rooms) {
+            size += ROOM_OVERHEAD_BYTES + 4L * room.seatCount() + room.seatCount() / 8;
+        }
+        return size;
+    }
+
+    private static long stringSize(String value) {
+        return value == null ? 0 : STRING_OVERHEAD_BYTES + value.length();
+    }
+
+    public String seatLabel(RoomSeating room, int row, int position) {
+        return "SeatR" + (row + 1) + "C" + ((position / room.getStudentsPerSeat()) + 1);
+    }
+
+    public String studentLabel(int studentIndex) {
+        Student student = students.get(studentIndex);
+        return labelFormat == LabelFormat.ROLL_NUMBER
+                ? "Roll No: " + student.rollNumber
+                : "Name: " + student.name;
+    }
+
+    /**
+     * Legacy representation: room number to rows of "seat label\nstudent label" strings, occupied seats only.
+     */
+    public Map<String, List<List<String>>> toLabelMap() {
+        Map<String, List<List<String>>> roomSeating = new LinkedHashMap<>();
+        for (RoomSeating room : rooms) {
+            List<List<String>> roomLayout = new ArrayList<>(room.getRows());
+            for (int r = 0; r < room.getRows(); r++) {
+                List<String> row = new ArrayList<>();
+                for (int p = 0; p < room.getSeatsPerRow(); p++) {
+                    int studentIndex = room.studentAt(r, p);
+                    if (studentIndex != EMPTY) {
+                        row.add(seatLabel(room, r, p) + "\n" + studentLabel(studentIndex));
+                    }
+                }
+                roomLayout.add(row);
+            }
+            roomSeating.put(room.getRoomNumber(), roomLayout);
+        }
+        return roomSeating;
+    }
+
+    /**
+     * Seats of a single room. A row holds {@code columns * studentsPerSeat} positions; position {@code p}
+     * is on bench {@code p / studentsPerSeat}.
+     */
+    public static final class RoomSeating {
+        private final SeatingPlan plan;
+        private final Room room;
+        private final int seatsPerRow;
+        private final int[] seats;
+        private final BitSet reserved = new BitSet();
+        private final int usableLimit;
+
+        RoomSeating(SeatingPlan plan, Room room) {
+            this.plan = plan;
+            this.room = room;
+            this.seatsPerRow = room.columns * room.studentsPerSeat;
+            this.seats = new int[room.rows * seatsPerRow];
+            Arrays.fill(seats, EMPTY);
+            this.usableLimit = computeUsableLimit();
+        }
+
+        // Index just past the last of the first usableSeats() open seats
+        private int computeUsableLimit() {
+            int usable = room.usableSeats();
+            if (!room.hasBlockedSeats()) return Math.min(usable, seats.length);
+            int seat = 0;
+            for (int open = 0; seat < seats.length && open < usable; seat++) {
+                if (!isBlocked(seat)) open++;
+            }
+            return seat;
+        }
+
+        public Room getRoom() {
+            return room;
+        }
+
+        public String getRoomNumber() {
+            return room.roomNumber;
+        }
+
+        public int getRows() {
+            return room.rows;
+        }
+
+        public int getSeatsPerRow() {
+            return seatsPerRow;
+        }
+
+        public int getStudentsPerSeat() {
+            return room.studentsPerSeat;
+        }
+
+        public int seatCount() {
+            return seats.length;
+        }
+
+        public int studentAt(int row, int position) {
+            return seats[row * seatsPerRow + position];
+        }
+
+        public int studentAt(int seat) {
+            return seats[seat];
+        }
+
+        public boolean isBlocked(int seat) {
+            return room.hasBlockedSeats()
+                    && room.isBlocked(seat / seatsPerRow, seat % seatsPerRow / room.studentsPerSeat);
+        }
+
+        // Empty seat that is not handed out, e.g. next to a student with a bench of their own
+        public boolean isReserved(int seat) {
+            return reserved.get(seat);
+        }
+
+        void setReserved(int seat, boolean value) {
+            plan.checkWritable();
+            reserved.set(seat, value);
+        }
+
+        // Seats are handed out below this index, skipping blocked ones, so the room's capacity is respected
+        public int usableLimit() {
+            return usableLimit;
+        }
+
+        void assign(int seat, int studentIndex) {
+            plan.checkWritable();
+            seats[seat] = studentIndex;
+        }
+
+        public int occupiedCount() {
+            int occupied = 0;
+            for (int seat : seats) {
+                if (seat != EMPTY) occupied++;
+            }
+            return occupied;
+        }
+
+        // Number of leading rows that contain at least one student
+        public int usedRows() {
+            for (int seat = seats.length - 1; seat >= 0; seat--) {
+                if (seats[seat] != EMPTY) return seat / seatsPerRow + 1;
+            }
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,236 @@
+package com.seating.exam_seating_arrangement_system.seating;
+
+import java.util.*;
+
+/**
+ * Applies late registrations, withdrawals and room closures to an existing {@link SeatingPlan} in place.
+ * <p>
+ * Seated students never move unless their room is closed: new students take the first free usable seat that is
+ * not reserved, a withdrawal frees the seat and the seats reserved next to it (which is handed to the first student on the waiting list, if any) and closing
+ * a room only moves the students of that room. Every edit returns the indices of the rooms whose layout
+ * changed, so callers only need to re-render those rooms. Students that do not fit are kept on a waiting
+ * list and reported as unseated. Not thread safe, callers must serialize edits of a plan.
+ */
+public class SeatingPlanEditor {
+
+    private final SeatingPlan plan;
+    private final Map<String, Integer> studentByRollNumber = new HashMap<>();
+    private final ArrayDeque<Integer> waiting = new ArrayDeque<>();
+    private final Set<Integer> closedRooms = new HashSet<>();
+    private int[] roomOf;
+    private int[] seatOf;
+    private int[] freeSeats;
+
+    public SeatingPlanEditor(SeatingPlan plan) {
+        if (plan.isReadOnly()) {
+            throw new IllegalArgumentException("A read-only seating plan cannot be edited.");
+        }
+        this.plan = plan;
+        int studentCount = plan.getStudents().size();
+        this.roomOf = new int[Math.max(16, studentCount)];
+        this.seatOf = new int[roomOf.length];
+        Arrays.fill(roomOf, -1);
+
+        List<SeatingPlan.RoomSeating> rooms = plan.getRooms();
+        this.freeSeats = new int[Math.max(4, rooms.size())];
+        for (int r = 0; r < rooms.size(); r++) {
+            SeatingPlan.RoomSeating room = rooms.get(r);
+            for (int seat = 0; seat < room.seatCount(); seat++) {
+                int student = room.studentAt(seat);
+                if (student != SeatingPlan.EMPTY) {
+                    roomOf[student] = r;
+                    seatOf[student] = seat;
+                }
+            }
+            freeSeats[r] = countFreeSeats(room);
+        }
+        for (int i = 0; i < studentCount; i++) {
+            studentByRollNumber.put(plan.getStudents().get(i).rollNumber, i);
+            if (roomOf[i] == -1) waiting.add(i);
+        }
+    }
+
+    public SeatingPlan getPlan() {
+        return plan;
+    }
+
+    public int getWaitingCount() {
+        return waiting.size();
+    }
+
+    /**
+     * Seats late registrations in free seats, students that do not fit are put on the waiting list.
+     */
+    public SortedSet<Integer> addStudents(List<Student> students) {
+        Set<String> rollNumbers = new HashSet<>();
+        for (Student student : students) {
+            if (studentByRollNumber.containsKey(student.rollNumber)) {
+                throw new IllegalArgumentException("Student with roll number " + student.rollNumber + " is already in the plan.");
+            }
+            if (!rollNumbers.add(student.rollNumber)) {
+                throw new IllegalArgumentException("Roll number " + student.rollNumber + " is given more than once.");
+            }
+        }
+
+        SortedSet<Integer> changedRooms = new TreeSet<>();
+        for (Student student : students) {
+            int index = plan.getStudents().size();
+            plan.addStudent(student);
+            ensureStudentCapacity(index + 1);
+            roomOf[index] = -1;
+            studentByRollNumber.put(student.rollNumber, index);
+
+            int room = seatAnywhere(index);
+            if (room >= 0) {
+                changedRooms.add(room);
+            } else {
+                waiting.add(index);
+            }
+        }
+        plan.setUnseatedCount(waiting.size());
+        return changedRooms;
+    }
+
+    /**
+     * Removes a student from the plan. The freed seat goes to the first student on the waiting list, unless it is
+     * beyond the room's capacity.
+     */
+    public SortedSet<Integer> withdrawStudent(String rollNumber) {
+        Integer index = studentByRollNumber.remove(rollNumber);
+        if (index == null) {
+            throw new NoSuchElementException("No student with roll number " + rollNumber + " in the plan.");
+        }
+
+        SortedSet<Integer> changedRooms = new TreeSet<>();
+        int room = roomOf[index];
+        if (room == -1) {
+            waiting.remove(index);
+        } else {
+            int seat = seatOf[index];
+            release(index);
+            if (!waiting.isEmpty() && seat < plan.getRooms().get(room).usableLimit()) {
+                place(waiting.poll(), room, seat);
+            }
+            changedRooms.add(room);
+        }
+        plan.setUnseatedCount(waiting.size());
+        return changedRooms;
+    }
+
+    /**
+     * Empties a room and moves its students to free seats in the other open rooms.
+     */
+    public SortedSet<Integer> closeRoom(String roomNumber) {
+        int room = indexOf(roomNumber);
+        SortedSet<Integer> changedRooms = new TreeSet<>();
+        if (!closedRooms.add(room)) return changedRooms; // Already closed
+
+        SeatingPlan.RoomSeating roomSeating = plan.getRooms().get(room);
+        changedRooms.add(room);
+        for (int seat = 0; seat < roomSeating.seatCount(); seat++) {
+            int student = roomSeating.studentAt(seat);
+            if (student == SeatingPlan.EMPTY) continue;
+            release(student);
+            int target = seatAnywhere(student);
+            if (target >= 0) {
+                changedRooms.add(target);
+            } else {
+                waiting.add(student);
+            }
+        }
+        freeSeats[room] = 0;
+        plan.setUnseatedCount(waiting.size());
+        return changedRooms;
+    }
+
+    /**
+     * Adds a room to the plan and seats as many waiting students in it as fit.
+     */
+    public SortedSet<Integer> openRoom(Room room) {
+        SeatingPlan.RoomSeating roomSeating = plan.addRoom(room);
+        int index = plan.getRooms().size() - 1;
+        if (index >= freeSeats.length) freeSeats = Arrays.copyOf(freeSeats, freeSeats.length * 2);
+        freeSeats[index] = countFreeSeats(roomSeating);
+
+        SortedSet<Integer> changedRooms = new TreeSet<>();
+        while (!waiting.isEmpty() && freeSeats[index] > 0) {
+            place(waiting.poll(), index, firstFreeSeat(roomSeating));
+            changedRooms.add(index);
+        }
+        plan.setUnseatedCount(waiting.size());
+        return changedRooms;
+    }
+
+    private int indexOf(String roomNumber) {
+        List<SeatingPlan.RoomSeating> rooms = plan.getRooms();
+        for (int r = 0; r < rooms.size(); r++) {
+            if (rooms.get(r).getRoomNumber().equals(roomNumber)) return r;
+        }
+        throw new NoSuchElementException("No room " + roomNumber + " in the plan.");
+    }
+
+    // Seats the student in the first open room with a free usable seat, returns the room or -1
+    private int seatAnywhere(int student) {
+        List<SeatingPlan.RoomSeating> rooms = plan.getRooms();
+        for (int r = 0; r < rooms.size(); r++) {
+            if (freeSeats[r] > 0 && !closedRooms.contains(r)) {
+                place(student, r, firstFreeSeat(rooms.get(r)));
+                return r;
+            }
+        }
+        return -1;
+    }
+
+    private void place(int student, int room, int seat) {
+        plan.getRooms().get(room).assign(seat, student);
+        roomOf[student] = room;
+        seatOf[student] = seat;
+        // Counted like release, seats beyond the usable limit are never free
+        if (seat < plan.getRooms().get(room).usableLimit()) freeSeats[room]--;
+    }
+
+    private void release(int student) {
+        int room = roomOf[student];
+        SeatingPlan.RoomSeating roomSeating = plan.getRooms().get(room);
+        roomSeating.assign(seatOf[student], SeatingPlan.EMPTY);
+        roomOf[student] = -1;
+        if (seatOf[student] < roomSeating.usableLimit()) freeSeats[room]++;
+
+        // The rest of a bench the student had to themselves can be used again
+        int first = seatOf[student] - seatOf[student] % roomSeating.getStudentsPerSeat();
+        for (int seat = first; seat < first + roomSeating.getStudentsPerSeat(); seat++) {
+            if (!roomSeating.isReserved(seat)) continue;
+            roomSeating.setReserved(seat, false);
+            if (seat < roomSeating.usableLimit()) freeSeats[room]++;
+        }
+    }
+
+    private static int firstFreeSeat(SeatingPlan.RoomSeating room) {
+        int limit = room.usableLimit();
+        for (int seat = 0; seat < limit; seat++) {
+            if (isFree(room, seat)) return seat;
+        }
+        throw new IllegalStateException("Room " + room.getRoomNumber() + " has no free seat");
+    }
+
+    private static int countFreeSeats(SeatingPlan.RoomSeating room) {
+        int free = 0;
+        int limit = room.usableLimit();
+        for (int seat = 0; seat < limit; seat++) {
+            if (isFree(room, seat)) free++;
+        }
+        return free;
+    }
+
+    private static boolean isFree(SeatingPlan.RoomSeating room, int seat) {
+        return room.studentAt(seat) == SeatingPlan.EMPTY && !room.isBlocked(seat) && !room.isReserved(seat);
+    }
+
+    private void ensureStudentCapacity(int size) {
+        if (size > roomOf.length) {
+            int length = Math.max(size, roomOf.length * 2);
+            roomOf = Arrays.copyOf(roomOf, length);
+            seatOf = Arrays.copyOf(seatOf, length);
+        }
+    }
+}
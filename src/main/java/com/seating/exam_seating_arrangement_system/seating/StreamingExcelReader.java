@@ -0,0 +1,373 @@
+package com.seating.exam_seating_arrangement_system.seating;
+
+import org.apache.poi.hssf.eventusermodel.HSSFEventFactory;
+import org.apache.poi.hssf.eventusermodel.HSSFListener;
+import org.apache.poi.hssf.eventusermodel.HSSFRequest;
+import org.apache.poi.hssf.eventusermodel.MissingRecordAwareHSSFListener;
+import org.apache.poi.hssf.eventusermodel.dummyrecord.LastCellOfRowDummyRecord;
+import org.apache.poi.hssf.record.*;
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.poifs.filesystem.FileMagic;
+import org.apache.poi.poifs.filesystem.POIFSFileSystem;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFComment;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+/**
+ * Event based (SAX) reader for the students and rooms workbooks.
+ * <p>
+ * Unlike {@link SeatingLogic#readStudentsFromExcel(String)}, which builds the whole workbook in memory,
+ * this reader walks the first sheet row by row and turns every row into a {@link Student} or {@link Room}
+ * as soon as it has been parsed. Both .xlsx (XSSF) and .xls (HSSF) workbooks are supported; the
+ * column layout is the same as for the DOM based reader.
+ * <p>
+ * .xls workbooks are OLE2 containers that can only be read with random access, so uploaded streams are
+ * spooled to a temporary file and read from there instead of being loaded onto the heap.
+ */
+public class StreamingExcelReader {
+
+    private static final Logger logger = LoggerFactory.getLogger(StreamingExcelReader.class);
+
+    static final int STUDENT_COLUMNS = 5;
+    static final int ROOM_COLUMNS = 8;
+    private static final Pattern REQUIREMENT_SEPARATOR = Pattern.compile("[;,\\s]+");
+
+    public List<Student> readStudents(String studentExcelPath) throws IOException {
+        List<Student> students = new ArrayList<>();
+        readRows(new File(studentExcelPath), STUDENT_COLUMNS, row -> students.add(toStudent(row)));
+        return students;
+    }
+
+    public List<Student> readStudents(InputStream inputStream) throws IOException {
+        List<Student> students = new ArrayList<>();
+        readRows(inputStream, STUDENT_COLUMNS, row -> students.add(toStudent(row)));
+        return students;
+    }
+
+    public List<Room> readRooms(String roomExcelPath) throws IOException {
+        List<Room> rooms = new ArrayList<>();
+        readRows(new File(roomExcelPath), ROOM_COLUMNS, row -> rooms.add(toRoom(row)));
+        return rooms;
+    }
+
+    public List<Room> readRooms(InputStream inputStream) throws IOException {
+        List<Room> rooms = new ArrayList<>();
+        readRows(inputStream, ROOM_COLUMNS, row -> rooms.add(toRoom(row)));
+        return rooms;
+    }
+
+    // Shared with TextRosterReader, so every input format validates rows the same way
+    static Student toStudent(ParsedRow row) {
+        String rollNumber = row.required(0, "RollNumber");
+        String name = row.required(1, "Name");
+        String className = row.required(2, "Class");
+        String session = row.optional(3);
+        return new Student(rollNumber, name, className, session, requirements(row, row.optional(4)));
+    }
+
+    static Room toRoom(ParsedRow row) {
+        String roomNumber = row.required(0, "RoomNumber");
+        int rows = row.requiredInt(1, "Rows", 1);
+        int columns = row.requiredInt(2, "Columns", 1);
+        int totalCapacity = row.requiredInt(3, "Capacity", 1);
+        int studentsPerSeat = row.requiredInt(4, "Students per seat", 1);
+        int frontRows = row.optional(7) != null ? row.requiredInt(7, "Front rows", 0) : 1;
+        try {
+            return new Room(roomNumber, totalCapacity, rows, columns, studentsPerSeat,
+                    row.optional(5), row.optional(6), frontRows);
+        } catch (IllegalArgumentException e) {
+            throw row.invalid(e.getMessage());
+        }
+    }
+
+    private static Set<Student.Requirement> requirements(ParsedRow row, String needs) {
+        if (needs == null) return Set.of();
+        Set<Student.Requirement> requirements = EnumSet.noneOf(Student.Requirement.class);
+        for (String need : REQUIREMENT_SEPARATOR.split(needs)) {
+            try {
+                requirements.add(Student.Requirement.valueOf(need.toUpperCase(Locale.ROOT)));
+            } catch (IllegalArgumentException e) {
+                throw row.invalid("Unknown requirement '" + need + "', must be 'accessible', 'front' or 'separate'");
+            }
+        }
+        return requirements;
+    }
+
+    // Streams every data row (header excluded) of the first sheet of the given file
+    private void readRows(File file, int columns, Consumer<ParsedRow> rowConsumer) throws IOException {
+        try (InputStream in = FileMagic.prepareToCheckMagic(new FileInputStream(file))) {
+            FileMagic magic = FileMagic.valueOf(in);
+            if (magic == FileMagic.OOXML) {
+                // Opening the package from the file lets POI read zip entries lazily
+                try (OPCPackage pkg = OPCPackage.open(file, PackageAccess.READ)) {
+                    readXlsx(pkg, columns, rowConsumer);
+                } catch (OpenXML4JException e) {
+                    throw new IOException("Error opening Excel file: " + file, e);
+                }
+            } else if (magic == FileMagic.OLE2) {
+                readXls(file, columns, rowConsumer);
+            } else {
+                readRows(in, columns, rowConsumer);
+            }
+        }
+    }
+
+    private void readRows(InputStream inputStream, int columns, Consumer<ParsedRow> rowConsumer) throws IOException {
+        InputStream in = FileMagic.prepareToCheckMagic(inputStream);
+        FileMagic magic = FileMagic.valueOf(in);
+        switch (magic) {
+            case OOXML -> {
+                try (OPCPackage pkg = OPCPackage.open(in)) {
+                    readXlsx(pkg, columns, rowConsumer);
+                } catch (OpenXML4JException e) {
+                    throw new IOException("Error opening Excel file", e);
+                }
+            }
+            case OLE2 -> readXls(in, columns, rowConsumer);
+            default -> throw new IllegalArgumentException(
+                    "Invalid file format. Only Excel files (.xlsx, .xls) are allowed.");
+        }
+    }
+
+    private void readXlsx(OPCPackage pkg, int columns, Consumer<ParsedRow> rowConsumer) throws IOException {
+        try {
+            XSSFReader reader = new XSSFReader(pkg);
+            ReadOnlySharedStringsTable strings = new ReadOnlySharedStringsTable(pkg);
+            StylesTable styles = reader.getStylesTable();
+
+            XSSFReader.SheetIterator sheets = (XSSFReader.SheetIterator) reader.getSheetsData();
+            if (!sheets.hasNext()) {
+                logger.warn("Excel file does not contain any sheet");
+                return;
+            }
+
+            try (InputStream sheet = sheets.next()) {
+                XMLReader parser = XMLHelper.newXMLReader();
+                parser.setContentHandler(new XSSFSheetXMLHandler(
+                        styles, null, strings, new XlsxRowHandler(columns, rowConsumer), new DataFormatter(), false));
+                parser.parse(new InputSource(sheet));
+            }
+        } catch (OpenXML4JException | SAXException | ParserConfigurationException e) {
+            throw new IOException("Error parsing Excel file: " + e.getMessage(), e);
+        }
+    }
+
+    private void readXls(InputStream in, int columns, Consumer<ParsedRow> rowConsumer) throws IOException {
+        Path spooled = Files.createTempFile("seating-upload", ".xls");
+        try {
+            Files.copy(in, spooled, StandardCopyOption.REPLACE_EXISTING);
+            readXls(spooled.toFile(), columns, rowConsumer);
+        } finally {
+            Files.deleteIfExists(spooled);
+        }
+    }
+
+    private void readXls(File file, int columns, Consumer<ParsedRow> rowConsumer) throws IOException {
+        // Blocks of the file are read on demand; the workbook stream may be named Workbook, WORKBOOK or BOOK, and
+        // Excel 5 files (Book) are rejected with an OldExcelFormatException, an IllegalArgumentException
+        try (POIFSFileSystem fs = new POIFSFileSystem(file, true);
+             InputStream workbook = fs.createDocumentInputStream(HSSFWorkbook.getWorkbookDirEntryName(fs.getRoot()))) {
+            HSSFRequest request = new HSSFRequest();
+            request.addListenerForAllRecords(new MissingRecordAwareHSSFListener(new XlsRowListener(columns, rowConsumer)));
+            new HSSFEventFactory().processEvents(request, workbook);
+        }
+    }
+
+    /**
+     * Cell values of a single spreadsheet row, indexed by column.
+     */
+    static final class ParsedRow {
+        private final String[] cells;
+        private int rowNum;
+
+        ParsedRow(int columns) {
+            this.cells = new String[columns];
+        }
+
+        void reset(int rowNum) {
+            this.rowNum = rowNum;
+            Arrays.fill(cells, null);
+        }
+
+        void set(int column, String value) {
+            if (column >= 0 && column < cells.length) {
+                cells[column] = value;
+            }
+        }
+
+        boolean isBlank() {
+            for (String cell : cells) {
+                if (cell != null && !cell.isBlank()) return false;
+            }
+            return true;
+        }
+
+        String optional(int column) {
+            String value = cells[column];
+            return value == null || value.isBlank() ? null : value.trim();
+        }
+
+        String required(int column, String columnName) {
+            String value = cells[column];
+            if (value == null || value.isBlank()) {
+                throw new IllegalArgumentException(
+                        "Missing value for column '" + columnName + "' in row " + (rowNum + 1));
+            }
+            return value.trim();
+        }
+
+        IllegalArgumentException invalid(String message) {
+            return new IllegalArgumentException(message + " in row " + (rowNum + 1));
+        }
+
+        int requiredInt(int column, String columnName, int minimum) {
+            String value = required(column, columnName);
+            int number;
+            try {
+                number = (int) Double.parseDouble(value.replace(",", ""));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException(
+                        "Invalid number '" + value + "' for column '" + columnName + "' in row " + (rowNum + 1));
+            }
+            if (number < minimum) {
+                throw new IllegalArgumentException("Value " + value + " for column '" + columnName
+                        + "' must be at least " + minimum + " in row " + (rowNum + 1));
+            }
+            return number;
+        }
+    }
+
+    // Receives SAX cell callbacks for .xlsx sheets
+    private static final class XlsxRowHandler implements XSSFSheetXMLHandler.SheetContentsHandler {
+        private final ParsedRow row;
+        private final Consumer<ParsedRow> rowConsumer;
+
+        XlsxRowHandler(int columns, Consumer<ParsedRow> rowConsumer) {
+            this.row = new ParsedRow(columns);
+            this.rowConsumer = rowConsumer;
+        }
+
+        @Override
+        public void startRow(int rowNum) {
+            row.reset(rowNum);
+        }
+
+        @Override
+        public void endRow(int rowNum) {
+            if (rowNum == 0 || row.isBlank()) return; // Skip header and empty rows
+            rowConsumer.accept(row);
+        }
+
+        @Override
+        public void cell(String cellReference, String formattedValue, XSSFComment comment) {
+            if (cellReference == null) return;
+            row.set(new CellReference(cellReference).getCol(), formattedValue);
+        }
+    }
+
+    // Receives BIFF records for .xls workbooks, only the first sheet is read
+    private static final class XlsRowListener implements HSSFListener {
+        private final ParsedRow row;
+        private final Consumer<ParsedRow> rowConsumer;
+        private SSTRecord sharedStrings;
+        private int sheetIndex = -1;
+        private int currentRow = -1;
+        // Column of a formula whose string result follows in a STRING record, or -1
+        private int pendingStringColumn = -1;
+
+        XlsRowListener(int columns, Consumer<ParsedRow> rowConsumer) {
+            this.row = new ParsedRow(columns);
+            this.rowConsumer = rowConsumer;
+        }
+
+        @Override
+        public void processRecord(org.apache.poi.hssf.record.Record record) {
+            if (record instanceof BOFRecord bof) {
+                if (bof.getType() == BOFRecord.TYPE_WORKSHEET) sheetIndex++;
+                return;
+            }
+            if (record instanceof SSTRecord sst) {
+                sharedStrings = sst;
+                return;
+            }
+            if (sheetIndex != 0) return;
+
+            if (record instanceof StringRecord string) {
+                if (pendingStringColumn >= 0) row.set(pendingStringColumn, string.getString());
+                pendingStringColumn = -1;
+            } else if (record instanceof LastCellOfRowDummyRecord lastCell) {
+                if (lastCell.getRow() == currentRow && currentRow > 0 && !row.isBlank()) {
+                    rowConsumer.accept(row);
+                }
+                currentRow = -1;
+            } else if (record instanceof CellValueRecordInterface cell) {
+                if (cell.getRow() != currentRow) {
+                    currentRow = cell.getRow();
+                    row.reset(currentRow);
+                }
+                row.set(cell.getColumn(), valueOf(record));
+            }
+        }
+
+        private String valueOf(org.apache.poi.hssf.record.Record record) {
+            if (record instanceof LabelSSTRecord label) {
+                return sharedStrings.getString(label.getSSTIndex()).getString();
+            } else if (record instanceof LabelRecord label) {
+                return label.getValue();
+            } else if (record instanceof NumberRecord number) {
+                return formatNumber(number.getValue());
+            } else if (record instanceof FormulaRecord formula) {
+                return formulaValue(formula);
+            } else if (record instanceof BoolErrRecord boolErr && boolErr.isBoolean()) {
+                return String.valueOf(boolErr.getBooleanValue());
+            }
+            return null;
+        }
+
+        // Cached result of a formula; string results arrive in the STRING record that follows
+        private String formulaValue(FormulaRecord formula) {
+            if (formula.hasCachedResultString()) {
+                pendingStringColumn = formula.getColumn();
+                return null;
+            }
+            return switch (formula.getCachedResultTypeEnum()) {
+                case NUMERIC -> formatNumber(formula.getValue());
+                case BOOLEAN -> String.valueOf(formula.getCachedBooleanValue());
+                default -> null;
+            };
+        }
+
+        private static String formatNumber(double value) {
+            return value == Math.rint(value) && !Double.isInfinite(value)
+                    ? String.valueOf((long) value)
+                    : String.valueOf(value);
+        }
+    }
+}
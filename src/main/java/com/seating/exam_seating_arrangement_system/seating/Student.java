@@ -2,18 +2,67 @@ package com.seating.exam_seating_arrangement_system.seating;
 
 import io.swagger.v3.oas.annotations.media.Schema;
 
+import java.util.Set;
+
 public class Student {
+
+    /**
+     * Seating needs of a student, honoured by constrained allocations.
+     */
+    public enum Requirement {
+        // A seat on an accessible bench of the room
+        ACCESSIBLE,
+        // A seat in one of the front rows of the room
+        FRONT,
+        // A bench of their own
+        SEPARATE
+    }
+
     @Schema(description = "Student's roll number", example = "2021CS001", required = true)
     String name;
     @Schema(description = "Student's full name", example = "John Doe", required = true)
     String rollNumber;
     @Schema(description = "Student's class/section", example = "CS-A", required = true)
     String className;
+    @Schema(description = "Exam session the student sits, when one roster holds several sessions", example = "2024-05-02-AM")
+    String session;
+    @Schema(description = "Seating needs: accessible, front and/or separate", example = "[\"FRONT\"]")
+    Set<Requirement> requirements;
 
     public Student(String rollNumber, String name, String className) {
+        this(rollNumber, name, className, null);
+    }
+
+    public Student(String rollNumber, String name, String className, String session) {
+        this(rollNumber, name, className, session, Set.of());
+    }
+
+    public Student(String rollNumber, String name, String className, String session, Set<Requirement> requirements) {
         this.rollNumber = rollNumber;
         this.name = name;
         this.className = className;
+        this.session = session;
+        this.requirements = requirements;
+    }
+
+    public String getRollNumber() {
+        return rollNumber;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getClassName() {
+        return className;
+    }
+
+    public String getSession() {
+        return session;
+    }
+
+    public Set<Requirement> getRequirements() {
+        return requirements;
     }
     @Override
     public String toString() {
@@ -0,0 +1,148 @@
+package com.seating.exam_seating_arrangement_system.seating;
+
+import java.text.CollationKey;
+import java.text.Collator;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Orderings of a roster, returned as permutations of student indices so the roster itself is never modified.
+ * <p>
+ * Rosters of {@value #PARALLEL_THRESHOLD} students or more are sorted with {@link Arrays#parallelSort}. Both
+ * sorts are stable, so students with equal keys keep their input order.
+ */
+final class StudentOrder {
+
+    static final int PARALLEL_THRESHOLD = 10_000;
+
+    private StudentOrder() {
+    }
+
+    /**
+     * Natural roll number order: digit runs compare by numeric value, so "CS2" sorts before "CS10".
+     */
+    static int[] byRollNumber(List<Student> students) {
+        Ranked<String>[] ranked = rank(students, IntStream.range(0, students.size())
+                .mapToObj(i -> students.get(i).rollNumber));
+        return sort(ranked, Comparator.comparing(Ranked::key, StudentOrder::compareNatural));
+    }
+
+    /**
+     * Name order using the collation rules of the locale; collation keys are computed once per student.
+     */
+    static int[] byName(List<Student> students, Locale locale) {
+        Collator collator = Collator.getInstance(locale);
+        collator.setStrength(Collator.SECONDARY); // Ignore case, respect accents
+        int size = students.size();
+        int chunks = size >= PARALLEL_THRESHOLD ? Runtime.getRuntime().availableProcessors() : 1;
+        int chunkSize = (size + chunks - 1) / chunks;
+        CollationKey[] keys = new CollationKey[size];
+        IntStream.range(0, chunks).parallel().forEach(chunk -> {
+            // Collators are not thread safe, every chunk gets its own copy
+            Collator chunkCollator = (Collator) collator.clone();
+            for (int i = chunk * chunkSize; i < Math.min(size, (chunk + 1) * chunkSize); i++) {
+                keys[i] = chunkCollator.getCollationKey(students.get(i).name);
+            }
+        });
+
+        Ranked<CollationKey>[] ranked = rank(students, Arrays.stream(keys));
+        return sort(ranked, Comparator.comparing(Ranked::key));
+    }
+
+    /**
+     * Uniformly random order drawn from the seed: the same seed and roster size always give the same order.
+     * Fisher-Yates over the index array, so the only allocation is the permutation itself.
+     */
+    static int[] shuffled(int size, long seed) {
+        int[] order = new int[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+        // The sequence of a seeded SplittableRandom is part of its specification, so orders are stable across JVMs
+        SplittableRandom random = new SplittableRandom(seed);
+        for (int i = size - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swapped = order[i];
+            order[i] = order[j];
+            order[j] = swapped;
+        }
+        return order;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static <K> Ranked<K>[] rank(List<Student> students, Stream<K> keys) {
+        Object[] keyArray = keys.toArray();
+        Ranked<K>[] ranked = new Ranked[students.size()];
+        for (int i = 0; i < ranked.length; i++) {
+            ranked[i] = new Ranked<>(i, (K) keyArray[i]);
+        }
+        return ranked;
+    }
+
+    private static <K> int[] sort(Ranked<K>[] ranked, Comparator<Ranked<K>> comparator) {
+        if (ranked.length >= PARALLEL_THRESHOLD) {
+            Arrays.parallelSort(ranked, comparator);
+        } else {
+            Arrays.sort(ranked, comparator);
+        }
+        int[] order = new int[ranked.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = ranked[i].index;
+        }
+        return order;
+    }
+
+    /**
+     * Compares strings treating every run of digits as a number. Leading zeros only break ties: the first
+     * difference in leading zeros decides only when the strings are otherwise equal, so "A01B" sorts before "A1C".
+     */
+    static int compareNatural(String a, String b) {
+        if (a == null || b == null) return a == null ? (b == null ? 0 : -1) : 1;
+        int i = 0;
+        int j = 0;
+        int zeroTieBreak = 0;
+        while (i < a.length() && j < b.length()) {
+            char ca = a.charAt(i);
+            char cb = b.charAt(j);
+            if (isDigit(ca) && isDigit(cb)) {
+                int startA = i;
+                int startB = j;
+                while (i < a.length() && a.charAt(i) == '0') i++;
+                while (j < b.length() && b.charAt(j) == '0') j++;
+                int significantA = i;
+                int significantB = j;
+                while (i < a.length() && isDigit(a.charAt(i))) i++;
+                while (j < b.length() && isDigit(b.charAt(j))) j++;
+
+                int lengthA = i - significantA;
+                int lengthB = j - significantB;
+                if (lengthA != lengthB) return Integer.compare(lengthA, lengthB);
+                for (int k = 0; k < lengthA; k++) {
+                    int digit = Character.compare(a.charAt(significantA + k), b.charAt(significantB + k));
+                    if (digit != 0) return digit;
+                }
+                if (zeroTieBreak == 0) {
+                    zeroTieBreak = Integer.compare(significantA - startA, significantB - startB);
+                }
+            } else {
+                if (ca != cb) return Character.compare(ca, cb);
+                i++;
+                j++;
+            }
+        }
+        int rest = Integer.compare(a.length() - i, b.length() - j);
+        return rest != 0 ? rest : zeroTieBreak;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private record Ranked<K>(int index, K key) {
+    }
+}
@@ -0,0 +1,236 @@
+package com.seating.exam_seating_arrangement_system.seating;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.seating.exam_seating_arrangement_system.seating.StreamingExcelReader.ParsedRow;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Reader for student and room files exported as text: CSV, TSV or JSON lines.
+ * <p>
+ * CSV and TSV files have the column layout of the workbooks, including the header row, and may quote fields
+ * as in RFC 4180. The delimiter is taken from the header row. They are parsed in a single pass over a large
+ * character buffer, without building a string per line. JSON lines files hold one object per line, keyed by
+ * the column names of {@link #STUDENT_FIELDS} and {@link #ROOM_FIELDS}; list fields such as {@code needs} may be
+ * JSON arrays. Rows are validated like those of the {@link StreamingExcelReader}: a missing or malformed value
+ * fails with the row number. Files must be UTF-8.
+ */
+public class TextRosterReader {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final char BYTE_ORDER_MARK = '\uFEFF';
+
+    static final Map<String, Integer> STUDENT_FIELDS = Map.of(
+            "rollNumber", 0, "name", 1, "className", 2, "session", 3, "needs", 4);
+    static final Map<String, Integer> ROOM_FIELDS = Map.of(
+            "roomNumber", 0, "rows", 1, "columns", 2, "totalCapacity", 3, "studentsPerSeat", 4,
+            "accessibleSeats", 5, "blockedSeats", 6, "frontRows", 7);
+
+    private final JsonFactory jsonFactory = new JsonFactory();
+
+    public List<Student> readStudents(String path) throws IOException {
+        try (InputStream in = new FileInputStream(path)) {
+            return readStudents(in);
+        }
+    }
+
+    public List<Student> readStudents(InputStream inputStream) throws IOException {
+        List<Student> students = new ArrayList<>();
+        readRows(inputStream, StreamingExcelReader.STUDENT_COLUMNS, STUDENT_FIELDS,
+                row -> students.add(StreamingExcelReader.toStudent(row)));
+        return students;
+    }
+
+    public List<Room> readRooms(String path) throws IOException {
+        try (InputStream in = new FileInputStream(path)) {
+            return readRooms(in);
+        }
+    }
+
+    public List<Room> readRooms(InputStream inputStream) throws IOException {
+        List<Room> rooms = new ArrayList<>();
+        readRows(inputStream, StreamingExcelReader.ROOM_COLUMNS, ROOM_FIELDS,
+                row -> rooms.add(StreamingExcelReader.toRoom(row)));
+        return rooms;
+    }
+
+    private void readRows(InputStream inputStream, int columns, Map<String, Integer> fields,
+                          Consumer<ParsedRow> rowConsumer) throws IOException {
+        CharSource source = new CharSource(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+        if (source.peek() == BYTE_ORDER_MARK) source.next();
+        source.skipWhitespace();
+        if (source.peek() == '{') {
+            readJsonLines(source, columns, fields, rowConsumer);
+        } else {
+            readDelimited(source, columns, rowConsumer);
+        }
+    }
+
+    // Splits records and fields in one pass; quoted fields may contain delimiters, quotes and line breaks
+    private void readDelimited(CharSource source, int columns, Consumer<ParsedRow> rowConsumer) throws IOException {
+        char delimiter = source.detectDelimiter();
+        ParsedRow row = new ParsedRow(columns);
+        StringBuilder field = new StringBuilder();
+        int record = 0;
+        int column = 0;
+        boolean quoted = false;
+        row.reset(record);
+
+        int c;
+        while ((c = source.next()) != -1) {
+            char ch = (char) c;
+            if (quoted) {
+                if (ch != '"') {
+                    field.append(ch);
+                } else if (source.peek() == '"') {
+                    source.next();
+                    field.append('"');
+                } else {
+                    quoted = false;
+                }
+            } else if (ch == delimiter) {
+                row.set(column++, field.toString());
+                field.setLength(0);
+            } else if (ch == '\n' || ch == '\r') {
+                if (ch == '\r' && source.peek() == '\n') source.next();
+                row.set(column, field.toString());
+                field.setLength(0);
+                // The first record is the header
+                if (record > 0 && !row.isBlank()) rowConsumer.accept(row);
+                column = 0;
+                row.reset(++record);
+            } else if (ch == '"' && field.isEmpty()) {
+                quoted = true;
+            } else {
+                field.append(ch);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted field in row " + (record + 1));
+        }
+        row.set(column, field.toString());
+        if (record > 0 && !row.isBlank()) rowConsumer.accept(row);
+    }
+
+    private void readJsonLines(CharSource source, int columns, Map<String, Integer> fields,
+                               Consumer<ParsedRow> rowConsumer) throws IOException {
+        ParsedRow row = new ParsedRow(columns);
+        int record = 0;
+        // The parser reads the remaining characters itself, line breaks between objects are whitespace to it
+        try (JsonParser parser = jsonFactory.createParser(source.remainder())) {
+            JsonToken token;
+            while ((token = parser.nextToken()) != null) {
+                record++;
+                if (token != JsonToken.START_OBJECT) {
+                    throw new IllegalArgumentException("Expected a JSON object in row " + record);
+                }
+                row.reset(record - 1);
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    Integer column = fields.get(parser.currentName());
+                    JsonToken value = parser.nextToken();
+                    if (column == null) {
+                        parser.skipChildren(); // Unknown fields are ignored, like extra spreadsheet columns
+                    } else if (value == JsonToken.START_ARRAY) {
+                        row.set(column, joinArray(parser, record));
+                    } else if (value.isStructStart()) {
+                        throw new IllegalArgumentException(
+                                "Invalid value for '" + parser.currentName() + "' in row " + record);
+                    } else if (value != JsonToken.VALUE_NULL) {
+                        row.set(column, parser.getText());
+                    }
+                }
+                rowConsumer.accept(row);
+            }
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Invalid JSON in row " + Math.max(record, 1) + ": " + e.getOriginalMessage());
+        }
+    }
+
+    // Lists such as "needs": ["front", "separate"] become the separated form used in spreadsheet cells
+    private static String joinArray(JsonParser parser, int record) throws IOException {
+        StringBuilder joined = new StringBuilder();
+        JsonToken element;
+        while ((element = parser.nextToken()) != JsonToken.END_ARRAY) {
+            if (element.isStructStart()) {
+                throw new IllegalArgumentException(
+                        "Invalid value in list '" + parser.currentName() + "' in row " + record);
+            }
+            if (element == JsonToken.VALUE_NULL) continue;
+            if (!joined.isEmpty()) joined.append(';');
+            joined.append(parser.getText());
+        }
+        return joined.toString();
+    }
+
+    /**
+     * Buffered character input with one character of look-ahead, cheaper per character than a BufferedReader.
+     */
+    private static final class CharSource {
+        private final Reader reader;
+        private final char[] buffer = new char[BUFFER_SIZE];
+        private int position;
+        private int limit;
+
+        CharSource(Reader reader) {
+            this.reader = reader;
+        }
+
+        int next() throws IOException {
+            if (position == limit && !fill()) return -1;
+            return buffer[position++];
+        }
+
+        int peek() throws IOException {
+            if (position == limit && !fill()) return -1;
+            return buffer[position];
+        }
+
+        void skipWhitespace() throws IOException {
+            int c;
+            while ((c = peek()) != -1 && Character.isWhitespace(c)) position++;
+        }
+
+        // Tab when the header row has one, comma otherwise; only the buffered part of the header is looked at
+        char detectDelimiter() throws IOException {
+            peek();
+            for (int i = position; i < limit && buffer[i] != '\n' && buffer[i] != '\r'; i++) {
+                if (buffer[i] == '\t') return '\t';
+            }
+            return ',';
+        }
+
+        Reader remainder() {
+            return new Reader() {
+                @Override
+                public int read(char[] target, int offset, int length) throws IOException {
+                    if (position == limit && !fill()) return -1;
+                    int count = Math.min(length, limit - position);
+                    System.arraycopy(buffer, position, target, offset, count);
+                    position += count;
+                    return count;
+                }
+
+                @Override
+                public void close() throws IOException {
+                    reader.close();
+                }
+            };
+        }
+
+        private boolean fill() throws IOException {
+            int read = reader.read(buffer, 0, buffer.length);
+            if (read <= 0) return false;
+            position = 0;
+            limit = read;
+            return true;
+        }
+    }
+}
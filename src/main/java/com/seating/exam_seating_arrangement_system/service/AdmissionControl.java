@@ -0,0 +1,202 @@
+package com.seating.exam_seating_arrangement_system.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Admission control for the seating API, so bursts of large uploads are shed instead of exhausting the heap.
+ * <p>
+ * Requests pass three checks, cheapest first:
+ * <ol>
+ *     <li>a token bucket per client refilled at {@code seating.admission.rate-per-minute}, allowing bursts of
+ *     {@code seating.admission.burst} requests;</li>
+ *     <li>an estimate of the rows of every upload (see {@link UploadRowEstimator}) against
+ *     {@code seating.admission.max-students} and {@code seating.admission.max-rooms}; estimates derived from the
+ *     file size alone are not held against these limits;</li>
+ *     <li>a memory reservation of {@code seating.admission.bytes-per-student} per estimated student, taken from a
+ *     budget of {@code seating.admission.heap-fraction} of the maximum heap, and a cap of
+ *     {@code seating.admission.max-concurrent} requests in flight.</li>
+ * </ol>
+ * Every rejection is counted in the {@code seating.requests.shed} metric, tagged with its {@link Reason}.
+ */
+@Component
+public class AdmissionControl {
+    private static final Logger logger = LoggerFactory.getLogger(AdmissionControl.class);
+    // Reserved for every admitted upload request regardless of its size: buffers, PDF fonts, zip streams
+    private static final long BASE_REQUEST_BYTES = 8L * 1024 * 1024;
+    private static final int MAX_TRACKED_CLIENTS = 10_000;
+
+    public enum Reason {
+        RATE_LIMITED, TOO_LARGE, OVERLOADED
+    }
+
+    /**
+     * Outcome of {@link #admit}: either a permit that must be released when the request ends, or the reason the
+     * request was rejected.
+     */
+    public record Admission(Permit permit, Reason rejection, String message, long retryAfterSeconds) {
+
+        public boolean admitted() {
+            return rejection == null;
+        }
+    }
+
+    private final boolean enabled;
+    private final double tokensPerNano;
+    private final int burst;
+    private final long maxStudents;
+    private final long maxRooms;
+    private final long bytesPerStudent;
+    private final int budgetKilobytes;
+    private final Semaphore memoryBudget;
+    private final Semaphore requestSlots;
+    private final AtomicInteger activeRequests = new AtomicInteger();
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final SeatingMetrics metrics;
+
+    public AdmissionControl(
+            SeatingMetrics metrics,
+            @Value("${seating.admission.enabled:true}") boolean enabled,
+            @Value("${seating.admission.rate-per-minute:60}") int ratePerMinute,
+            @Value("${seating.admission.burst:10}") int burst,
+            @Value("${seating.admission.max-students:500000}") long maxStudents,
+            @Value("${seating.admission.max-rooms:20000}") long maxRooms,
+            @Value("${seating.admission.bytes-per-student:2048}") long bytesPerStudent,
+            @Value("${seating.admission.heap-fraction:0.6}") double heapFraction,
+            @Value("${seating.admission.max-concurrent:0}") int maxConcurrent
+    ) {
+        this.metrics = metrics;
+        this.enabled = enabled;
+        this.tokensPerNano = ratePerMinute / 60e9;
+        this.burst = Math.max(1, burst);
+        this.maxStudents = maxStudents;
+        this.maxRooms = maxRooms;
+        this.bytesPerStudent = bytesPerStudent;
+        this.budgetKilobytes = (int) Math.min(Integer.MAX_VALUE, (long) (Runtime.getRuntime().maxMemory() * heapFraction) / 1024);
+        this.memoryBudget = new Semaphore(budgetKilobytes);
+        // 0 allows two requests per available processor
+        this.requestSlots = new Semaphore(maxConcurrent > 0 ? maxConcurrent : 2 * Runtime.getRuntime().availableProcessors());
+        metrics.trackAdmission(activeRequests::get, () -> (budgetKilobytes - memoryBudget.availablePermits()) * 1024L);
+    }
+
+    /**
+     * Checks a request of the given client. Uploads are only inspected when the rate limit lets the request in.
+     */
+    public Admission admit(String client, Collection<MultipartFile> studentFiles, Collection<MultipartFile> roomFiles)
+            throws IOException {
+        if (!enabled) return new Admission(new Permit(0, false), null, null, 0);
+
+        long waitNanos = bucketOf(client).tryConsume();
+        if (waitNanos > 0) {
+            return reject(Reason.RATE_LIMITED, "Too many requests, please retry later.",
+                    Math.min(3600, (waitNanos - 1) / 1_000_000_000L + 1));
+        }
+
+        // Rows counted against the limits, and all estimated students for the memory reservation
+        long students = 0;
+        long estimatedStudents = 0;
+        for (MultipartFile file : studentFiles) {
+            UploadRowEstimator.RowEstimate estimate = UploadRowEstimator.estimateRows(file);
+            if (!estimate.fromSize()) students += estimate.rows();
+            estimatedStudents += estimate.rows();
+        }
+        long rooms = 0;
+        for (MultipartFile file : roomFiles) {
+            UploadRowEstimator.RowEstimate estimate = UploadRowEstimator.estimateRows(file);
+            if (!estimate.fromSize()) rooms += estimate.rows();
+        }
+        if (students > maxStudents || rooms > maxRooms) {
+            return reject(Reason.TOO_LARGE, String.format(
+                    "Upload too large: about %d students and %d rooms, at most %d students and %d rooms are accepted.",
+                    students, rooms, maxStudents, maxRooms), 0);
+        }
+        if (studentFiles.isEmpty() && roomFiles.isEmpty()) {
+            return new Admission(new Permit(0, false), null, null, 0);
+        }
+
+        int kilobytes = (int) Math.min(budgetKilobytes, (BASE_REQUEST_BYTES + estimatedStudents * bytesPerStudent) / 1024);
+        if (!requestSlots.tryAcquire()) {
+            return reject(Reason.OVERLOADED, "The server is busy, please retry later.", 5);
+        }
+        if (!memoryBudget.tryAcquire(kilobytes)) {
+            requestSlots.release();
+            return reject(Reason.OVERLOADED, "Not enough memory for this upload right now, please retry later.", 10);
+        }
+        activeRequests.incrementAndGet();
+        return new Admission(new Permit(kilobytes, true), null, null, 0);
+    }
+
+    private Admission reject(Reason reason, String message, long retryAfterSeconds) {
+        metrics.requestShed(reason.name().toLowerCase());
+        logger.warn("Shed request ({}): {}", reason, message);
+        return new Admission(null, reason, message, retryAfterSeconds);
+    }
+
+    private TokenBucket bucketOf(String client) {
+        if (buckets.size() > MAX_TRACKED_CLIENTS) {
+            // Buckets that have refilled completely hold no state worth keeping
+            long now = System.nanoTime();
+            buckets.values().removeIf(bucket -> bucket.isFull(now));
+        }
+        return buckets.computeIfAbsent(client, key -> new TokenBucket());
+    }
+
+    /**
+     * Reservation of an admitted request, released once when the request has been fully written.
+     */
+    public final class Permit {
+        private final int kilobytes;
+        private final boolean holdsSlot;
+        private boolean released;
+
+        private Permit(int kilobytes, boolean holdsSlot) {
+            this.kilobytes = kilobytes;
+            this.holdsSlot = holdsSlot;
+        }
+
+        public synchronized void release() {
+            if (released || !holdsSlot) return;
+            released = true;
+            memoryBudget.release(kilobytes);
+            requestSlots.release();
+            activeRequests.decrementAndGet();
+        }
+    }
+
+    // Refilled lazily on every request, so idle clients cost nothing
+    private final class TokenBucket {
+        private double tokens = burst;
+        private long refilledAt = System.nanoTime();
+
+        // Takes a token and returns 0, or returns the nanoseconds until the next token
+        synchronized long tryConsume() {
+            long now = System.nanoTime();
+            refill(now);
+            if (tokens >= 1) {
+                tokens--;
+                return 0;
+            }
+            return tokensPerNano > 0 ? (long) Math.ceil((1 - tokens) / tokensPerNano) : Long.MAX_VALUE;
+        }
+
+        synchronized boolean isFull(long now) {
+            refill(now);
+            return tokens >= burst;
+        }
+
+        private void refill(long now) {
+            tokens = Math.min(burst, tokens + (now - refilledAt) * tokensPerNano);
+            refilledAt = now;
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.seating.exam_seating_arrangement_system.service;
+
+/**
+ * Thrown when the background job queue cannot take any more work.
+ */
+public class JobQueueFullException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    public JobQueueFullException(String message) {
+        super(message);
+    }
+}
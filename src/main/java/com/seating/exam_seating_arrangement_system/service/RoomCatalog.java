@@ -0,0 +1,204 @@
+package com.seating.exam_seating_arrangement_system.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.seating.exam_seating_arrangement_system.seating.Room;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.*;
+
+/**
+ * Versioned room inventory, so seating requests can reference rooms instead of uploading a rooms workbook.
+ * <p>
+ * Every change creates a new immutable version holding ready-to-use {@link Room} objects; older versions stay
+ * available (up to {@code seating.rooms.max-versions}) so plans can be regenerated against the inventory they
+ * were made with. The latest version is written to {@code seating.rooms.storage-file} and restored on startup.
+ */
+@Component
+public class RoomCatalog {
+    private static final Logger logger = LoggerFactory.getLogger(RoomCatalog.class);
+
+    private final ObjectMapper objectMapper;
+    private final Path storageFile;
+    private final int maxVersions;
+    private final NavigableMap<Long, Version> versions = new TreeMap<>();
+
+    public RoomCatalog(
+            ObjectMapper objectMapper,
+            @Value("${seating.rooms.storage-file:${java.io.tmpdir}/seating-rooms.json}") String storageFile,
+            @Value("${seating.rooms.max-versions:20}") int maxVersions
+    ) {
+        this.objectMapper = objectMapper;
+        this.storageFile = Path.of(storageFile);
+        this.maxVersions = maxVersions;
+    }
+
+    /**
+     * Catalog form of a {@link Room}. The seat attributes are optional; a missing number of front rows means one.
+     */
+    public record RoomEntry(String roomNumber, int rows, int columns, int totalCapacity, int studentsPerSeat,
+                            String accessibleSeats, String blockedSeats, Integer frontRows) {
+
+        Room toRoom() {
+            return new Room(roomNumber, totalCapacity, rows, columns, studentsPerSeat,
+                    accessibleSeats, blockedSeats, frontRows != null ? frontRows : 1);
+        }
+    }
+
+    public record VersionInfo(long version, Instant createdAt, int rooms) {
+    }
+
+    public record CatalogView(long version, Instant createdAt, List<RoomEntry> rooms) {
+    }
+
+    /**
+     * One immutable state of the catalog. The fingerprint is a SHA-256 of the rooms and stands in for the
+     * rooms workbook in result cache keys.
+     */
+    public record Version(long version, Instant createdAt, List<Room> rooms, List<RoomEntry> entries, String fingerprint) {
+
+        public CatalogView view() {
+            return new CatalogView(version, createdAt, entries);
+        }
+    }
+
+    @PostConstruct
+    void load() {
+        if (!Files.exists(storageFile)) return;
+        try {
+            CatalogView stored = objectMapper.readValue(storageFile.toFile(), CatalogView.class);
+            synchronized (this) {
+                versions.put(stored.version(), version(stored.version(), stored.createdAt(), stored.rooms()));
+            }
+            logger.info("Loaded room catalog version {} with {} rooms", stored.version(), stored.rooms().size());
+        } catch (IOException e) {
+            logger.warn("Could not load room catalog from {}: {}", storageFile, e.getMessage());
+        }
+    }
+
+    public synchronized Version current() {
+        if (versions.isEmpty()) {
+            throw new NoSuchElementException("The room catalog is empty, import or add rooms first.");
+        }
+        return versions.lastEntry().getValue();
+    }
+
+    public synchronized Version get(long version) {
+        Version found = versions.get(version);
+        if (found == null) {
+            throw new NoSuchElementException("Unknown room catalog version " + version);
+        }
+        return found;
+    }
+
+    public synchronized List<VersionInfo> versions() {
+        List<VersionInfo> infos = new ArrayList<>(versions.size());
+        versions.values().forEach(version -> infos.add(new VersionInfo(version.version(), version.createdAt(), version.rooms().size())));
+        return infos;
+    }
+
+    /**
+     * Adds the room, or replaces the room with the same number.
+     */
+    public synchronized Version put(RoomEntry room) throws IOException {
+        validate(room);
+        List<RoomEntry> entries = new ArrayList<>(versions.isEmpty() ? List.of() : current().entries());
+        entries.removeIf(entry -> entry.roomNumber().equals(room.roomNumber()));
+        entries.add(room);
+        return publish(entries);
+    }
+
+    public synchronized Version remove(String roomNumber) throws IOException {
+        List<RoomEntry> entries = new ArrayList<>(current().entries());
+        if (!entries.removeIf(entry -> entry.roomNumber().equals(roomNumber))) {
+            throw new NoSuchElementException("No room " + roomNumber + " in the catalog.");
+        }
+        return publish(entries);
+    }
+
+    /**
+     * Replaces the whole inventory, e.g. with the rooms of an imported workbook.
+     */
+    public synchronized Version replace(List<Room> rooms) throws IOException {
+        List<RoomEntry> entries = new ArrayList<>(rooms.size());
+        Set<String> roomNumbers = new HashSet<>();
+        for (Room room : rooms) {
+            RoomEntry entry = new RoomEntry(room.getRoomNumber(), room.getRows(), room.getColumns(),
+                    room.getTotalCapacity(), room.getStudentsPerSeat(), room.getAccessibleSeats(),
+                    room.getBlockedSeats(), room.getFrontRows());
+            validate(entry);
+            if (!roomNumbers.add(entry.roomNumber())) {
+                throw new IllegalArgumentException("Room " + entry.roomNumber() + " is listed more than once.");
+            }
+            entries.add(entry);
+        }
+        return publish(entries);
+    }
+
+    private Version publish(List<RoomEntry> entries) throws IOException {
+        long number = versions.isEmpty() ? 1 : versions.lastKey() + 1;
+        Version version = version(number, Instant.now(), entries);
+
+        // Written to a temp file first and moved into place, so a crash never leaves half a catalog
+        Files.createDirectories(storageFile.toAbsolutePath().getParent());
+        Path temp = Files.createTempFile(storageFile.toAbsolutePath().getParent(), "seating-rooms", ".tmp");
+        objectMapper.writeValue(temp.toFile(), version.view());
+        Files.move(temp, storageFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        versions.put(number, version);
+        while (versions.size() > maxVersions) {
+            versions.pollFirstEntry();
+        }
+        logger.info("Published room catalog version {} with {} rooms", number, entries.size());
+        return version;
+    }
+
+    private static Version version(long number, Instant createdAt, List<RoomEntry> entries) {
+        List<Room> rooms = new ArrayList<>(entries.size());
+        StringBuilder content = new StringBuilder();
+        for (RoomEntry entry : entries) {
+            Room room = entry.toRoom();
+            rooms.add(room);
+            content.append(entry.roomNumber()).append('\t').append(entry.rows()).append('\t').append(entry.columns())
+                    .append('\t').append(entry.totalCapacity()).append('\t').append(entry.studentsPerSeat());
+            // Rooms without seat attributes keep the fingerprint of earlier versions
+            if (room.getAccessibleSeats() != null || room.getBlockedSeats() != null || room.getFrontRows() != 1) {
+                content.append('\t').append(room.getAccessibleSeats()).append('\t').append(room.getBlockedSeats())
+                        .append('\t').append(room.getFrontRows());
+            }
+            content.append('\n');
+        }
+        return new Version(number, createdAt, Collections.unmodifiableList(rooms), List.copyOf(entries), sha256(content.toString()));
+    }
+
+    private static void validate(RoomEntry room) {
+        if (room.roomNumber() == null || room.roomNumber().isBlank()) {
+            throw new IllegalArgumentException("Room number is required.");
+        }
+        if (room.rows() <= 0 || room.columns() <= 0 || room.studentsPerSeat() <= 0 || room.totalCapacity() <= 0) {
+            throw new IllegalArgumentException("Room " + room.roomNumber()
+                    + " needs positive rows, columns, students per seat and capacity.");
+        }
+        room.toRoom(); // Checks the seat attributes
+    }
+
+    private static String sha256(String content) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(content.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
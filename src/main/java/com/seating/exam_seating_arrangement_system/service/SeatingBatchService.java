@@ -0,0 +1,164 @@
+package com.seating.exam_seating_arrangement_system.service;
+
+import com.seating.exam_seating_arrangement_system.seating.Room;
+import com.seating.exam_seating_arrangement_system.seating.SeatingPlan;
+import com.seating.exam_seating_arrangement_system.seating.Student;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Plans many exam sessions against one room inventory.
+ * <p>
+ * The rooms file is parsed once and shared (read only) by every session. Sessions come either from
+ * several student files (one session per file) or from the optional session column of a roster; students
+ * of the same session found in different files are merged. Parsing, allocation and rendering of the
+ * sessions run in parallel, the resulting PDFs are written to a zip archive in session order.
+ */
+@Service
+public class SeatingBatchService {
+    private static final Logger logger = LoggerFactory.getLogger(SeatingBatchService.class);
+    private static final int MAX_ENTRY_NAME_LENGTH = 100;
+
+    private final SeatingService seatingService;
+    private final ExecutorService executor;
+
+    public record Session(String name, SeatingPlan plan) {
+    }
+
+    public SeatingBatchService(
+            SeatingService seatingService,
+            @Value("${seating.batch.parallelism:0}") int parallelism
+    ) {
+        this.seatingService = seatingService;
+        this.executor = Executors.newFixedThreadPool(
+                parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Parses and allocates every session. Runs on the request thread (the uploads are only readable
+     * while the request is active), fanning the per-session work out to the batch pool.
+     */
+    public List<Session> plan(MultipartFile roomsFile, Long roomCatalogVersion, List<MultipartFile> studentsFiles,
+                              SeatingService.Arrangement arrangement, String reader) throws IOException {
+        if (studentsFiles == null || studentsFiles.isEmpty()) {
+            throw new IllegalArgumentException("At least one students file is required.");
+        }
+        // Checks the rooms source together with the first roster, the other rosters on their own
+        seatingService.validateFiles(studentsFiles.get(0), roomsFile, roomCatalogVersion);
+        seatingService.validateFiles(studentsFiles.toArray(MultipartFile[]::new));
+
+        List<Room> rooms = seatingService.readRooms(roomsFile, roomCatalogVersion, reader);
+
+        List<Future<List<Student>>> parsed = new ArrayList<>();
+        for (MultipartFile studentsFile : studentsFiles) {
+            parsed.add(executor.submit(() -> {
+                try (InputStream studentStream = studentsFile.getInputStream()) {
+                    return seatingService.readStudents(studentStream, reader);
+                }
+            }));
+        }
+
+        // Group students by session, falling back to the file name when a row has no session
+        Map<String, List<Student>> sessions = new LinkedHashMap<>();
+        for (int i = 0; i < studentsFiles.size(); i++) {
+            String fileSession = baseName(studentsFiles.get(i).getOriginalFilename(), i);
+            for (Student student : await(parsed.get(i))) {
+                String session = student.getSession() != null ? student.getSession() : fileSession;
+                sessions.computeIfAbsent(session, name -> new ArrayList<>()).add(student);
+            }
+        }
+
+        Map<String, Future<SeatingPlan>> plans = new LinkedHashMap<>();
+        sessions.forEach((name, students) ->
+                plans.put(name, executor.submit(() -> seatingService.allocate(students, rooms, arrangement))));
+
+        List<Session> result = new ArrayList<>(plans.size());
+        for (Map.Entry<String, Future<SeatingPlan>> entry : plans.entrySet()) {
+            result.add(new Session(entry.getKey(), await(entry.getValue())));
+        }
+        logger.info("Planned {} sessions against {} rooms", result.size(), rooms.size());
+        return result;
+    }
+
+    /**
+     * Renders every session in parallel and writes one PDF per session into a zip archive.
+     * The stream is finished but left open for the caller.
+     */
+    public void writeArchive(List<Session> sessions, OutputStream outputStream) throws IOException {
+        List<Future<byte[]>> pdfs = new ArrayList<>(sessions.size());
+        for (Session session : sessions) {
+            pdfs.add(executor.submit(() -> {
+                ByteArrayOutputStream pdf = new ByteArrayOutputStream();
+                seatingService.render(session.plan(), pdf);
+                return pdf.toByteArray();
+            }));
+        }
+
+        ZipOutputStream zip = new ZipOutputStream(outputStream);
+        // Compared ignoring case, as archives are often extracted on case-insensitive file systems
+        Set<String> entryNames = new HashSet<>();
+        try {
+            for (int i = 0; i < sessions.size(); i++) {
+                String baseName = safeName(sessions.get(i).name());
+                String entryName = baseName;
+                for (int copy = 2; !entryNames.add(entryName.toLowerCase(Locale.ROOT)); copy++) {
+                    entryName = baseName + "-" + copy;
+                }
+                zip.putNextEntry(new ZipEntry(entryName + ".pdf"));
+                zip.write(await(pdfs.get(i)));
+                zip.closeEntry();
+            }
+            zip.finish();
+        } finally {
+            pdfs.forEach(pdf -> pdf.cancel(false));
+        }
+    }
+
+    private static <T> T await(Future<T> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while planning sessions", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) throw runtimeException;
+            if (cause instanceof IOException ioException) throw ioException;
+            throw new IOException(cause.getMessage(), cause);
+        }
+    }
+
+    private static String baseName(String fileName, int index) {
+        if (fileName == null || fileName.isBlank()) return "session-" + (index + 1);
+        int dot = fileName.lastIndexOf('.');
+        return dot > 0 ? fileName.substring(0, dot) : fileName;
+    }
+
+    // Entry name that stays inside the archive: separators and other unsafe characters become '_', leading dots go
+    private static String safeName(String name) {
+        String safe = name.replaceAll("[^A-Za-z0-9._-]", "_").replaceFirst("^\\.+", "");
+        if (safe.length() > MAX_ENTRY_NAME_LENGTH) safe = safe.substring(0, MAX_ENTRY_NAME_LENGTH);
+        return safe.isEmpty() ? "session" : safe;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,115 @@
+package com.seating.exam_seating_arrangement_system.service;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.time.Instant;
+
+/**
+ * State of a seating arrangement generated in the background. Updated by the worker thread
+ * and read by the status endpoints, so all mutable fields are volatile.
+ */
+public class SeatingJob {
+
+    public enum Status {
+        QUEUED(0),
+        PARSING(10),
+        ALLOCATING(50),
+        RENDERING(70),
+        COMPLETED(100),
+        FAILED(100);
+
+        private final int progress;
+
+        Status(int progress) {
+            this.progress = progress;
+        }
+
+        public int getProgress() {
+            return progress;
+        }
+
+        public boolean isFinished() {
+            return this == COMPLETED || this == FAILED;
+        }
+    }
+
+    private final String id;
+    private final SeatingService.Arrangement arrangement;
+    private final Instant createdAt;
+    private volatile Status status = Status.QUEUED;
+    private volatile String message;
+    private volatile Instant finishedAt;
+    private volatile byte[] result;
+    private volatile String planId;
+
+    public SeatingJob(String id, SeatingService.Arrangement arrangement) {
+        this.id = id;
+        this.arrangement = arrangement;
+        this.createdAt = Instant.now();
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getType() {
+        return arrangement.type();
+    }
+
+    // Seed of a random arrangement, null for the other types
+    public Long getSeed() {
+        return arrangement.seed();
+    }
+
+    @JsonIgnore
+    public SeatingService.Arrangement getArrangement() {
+        return arrangement;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public int getProgress() {
+        return status.getProgress();
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public Instant getFinishedAt() {
+        return finishedAt;
+    }
+
+    // Id of the published plan for seat lookups, null until completed
+    public String getPlanId() {
+        return planId;
+    }
+
+    @JsonIgnore
+    public byte[] getResult() {
+        return result;
+    }
+
+    void advance(Status status) {
+        this.status = status;
+    }
+
+    void complete(byte[] result, String planId) {
+        this.result = result;
+        this.planId = planId;
+        this.finishedAt = Instant.now();
+        this.status = Status.COMPLETED;
+    }
+
+    void fail(String message) {
+        this.message = message;
+        this.finishedAt = Instant.now();
+        this.status = Status.FAILED;
+    }
+}
@@ -0,0 +1,193 @@
+package com.seating.exam_seating_arrangement_system.service;
+
+import com.seating.exam_seating_arrangement_system.seating.Room;
+import com.seating.exam_seating_arrangement_system.seating.SeatingPlan;
+import com.seating.exam_seating_arrangement_system.seating.Student;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Runs seating generation in the background on a bounded worker pool.
+ * <p>
+ * Uploads are copied to a per-job temp directory on submit (the multipart parts are gone once the
+ * request completes) and deleted as soon as the job finishes. When all workers are busy and the
+ * queue is full, {@link #submit} fails fast with {@link JobQueueFullException}. Completed plans are
+ * published for seat lookups like those of the synchronous endpoints; the id is in the job status.
+ */
+@Service
+public class SeatingJobService {
+    private static final Logger logger = LoggerFactory.getLogger(SeatingJobService.class);
+
+    private final SeatingService seatingService;
+    private final SeatingResultCache resultCache;
+    private final SeatingPlanRepository planRepository;
+    private final ThreadPoolExecutor executor;
+    private final Map<String, SeatingJob> jobs = new ConcurrentHashMap<>();
+    private final Duration retention;
+
+    public SeatingJobService(
+            SeatingService seatingService,
+            SeatingResultCache resultCache,
+            SeatingPlanRepository planRepository,
+            @Value("${seating.jobs.pool-size:2}") int poolSize,
+            @Value("${seating.jobs.queue-capacity:16}") int queueCapacity,
+            @Value("${seating.jobs.retention-minutes:30}") long retentionMinutes
+    ) {
+        this.seatingService = seatingService;
+        this.resultCache = resultCache;
+        this.planRepository = planRepository;
+        this.retention = Duration.ofMinutes(retentionMinutes);
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                poolSize,
+                poolSize,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "seating-job-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+    }
+
+    public SeatingJob submit(MultipartFile studentsFile, MultipartFile roomsFile, Long roomCatalogVersion,
+                             SeatingService.Arrangement arrangement, String reader) throws IOException {
+        seatingService.validateFiles(studentsFile, roomsFile, roomCatalogVersion);
+        // Resolved now, so an unknown catalog version is rejected with the request
+        List<Room> catalogRooms = roomCatalogVersion != null ? seatingService.catalogRooms(roomCatalogVersion) : null;
+        purgeExpiredJobs();
+
+        // Reject before copying the uploads when there is obviously no room left
+        if (executor.getQueue().remainingCapacity() == 0) {
+            throw queueFull();
+        }
+
+        Path workDirectory = Files.createTempDirectory("seating-job");
+        Path studentPath = workDirectory.resolve("students");
+        Path roomPath = catalogRooms == null ? workDirectory.resolve("rooms") : null;
+        try {
+            studentsFile.transferTo(studentPath);
+            if (roomPath != null) roomsFile.transferTo(roomPath);
+        } catch (IOException e) {
+            deleteDirectory(workDirectory);
+            throw e;
+        }
+
+        SeatingJob job = new SeatingJob(UUID.randomUUID().toString(), arrangement);
+        jobs.put(job.getId(), job);
+        try {
+            executor.execute(() -> run(job, workDirectory, studentPath, roomPath, roomCatalogVersion, catalogRooms, reader));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.getId());
+            deleteDirectory(workDirectory);
+            throw queueFull();
+        }
+
+        logger.info("Queued seating job {} ({} queued, {} running)",
+                job.getId(), executor.getQueue().size(), executor.getActiveCount());
+        return job;
+    }
+
+    public Optional<SeatingJob> find(String jobId) {
+        return Optional.ofNullable(jobs.get(jobId)).filter(job -> !isExpired(job, Instant.now().minus(retention)));
+    }
+
+    private void run(SeatingJob job, Path workDirectory, Path studentPath, Path roomPath, Long roomCatalogVersion,
+                     List<Room> catalogRooms, String reader) {
+        long start = System.nanoTime();
+        try {
+            String cacheKey = cacheKey(studentPath, roomPath, roomCatalogVersion, job.getArrangement());
+            SeatingResultCache.CachedResult cached = resultCache.get(cacheKey);
+            if (cached != null && cached.pdf() != null) {
+                job.complete(cached.pdf(), planRepository.publishGenerated(cacheKey, cached.plan()));
+                logger.info("Seating job {} served from cache", job.getId());
+                return;
+            }
+
+            SeatingPlan seatingPlan;
+            if (cached != null) {
+                seatingPlan = cached.plan();
+            } else {
+                job.advance(SeatingJob.Status.PARSING);
+                List<Student> students = seatingService.readStudents(studentPath.toString(), reader);
+                List<Room> rooms = catalogRooms != null ? catalogRooms : seatingService.readRooms(roomPath.toString(), reader);
+
+                job.advance(SeatingJob.Status.ALLOCATING);
+                seatingPlan = seatingService.allocate(students, rooms, job.getArrangement());
+            }
+
+            job.advance(SeatingJob.Status.RENDERING);
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            seatingService.render(seatingPlan, out);
+            byte[] pdf = out.toByteArray(); // One copy, shared by the cache and the job
+            resultCache.put(cacheKey, seatingPlan, pdf);
+
+            job.complete(pdf, planRepository.publishGenerated(cacheKey, seatingPlan));
+            logger.info("Seating job {} completed in {} ms", job.getId(), (System.nanoTime() - start) / 1_000_000);
+        } catch (Exception e) {
+            logger.error("Seating job {} failed", job.getId(), e);
+            job.fail(e.getMessage());
+        } finally {
+            deleteDirectory(workDirectory);
+        }
+    }
+
+    private String cacheKey(Path studentPath, Path roomPath, Long roomCatalogVersion,
+                            SeatingService.Arrangement arrangement) throws IOException {
+        if (!resultCache.isEnabled()) return null;
+        try (InputStream studentStream = Files.newInputStream(studentPath);
+             InputStream roomStream = roomPath != null
+                     ? Files.newInputStream(roomPath)
+                     : seatingService.roomsContent(null, roomCatalogVersion)) {
+            return resultCache.key(studentStream, roomStream, arrangement.key());
+        }
+    }
+
+    // Also runs on a schedule, so an idle server does not hold on to finished results until the next submit
+    @Scheduled(fixedDelay = 1, timeUnit = TimeUnit.MINUTES)
+    void purgeExpiredJobs() {
+        Instant cutoff = Instant.now().minus(retention);
+        jobs.values().removeIf(job -> isExpired(job, cutoff));
+    }
+
+    private static boolean isExpired(SeatingJob job, Instant cutoff) {
+        return job.getFinishedAt() != null && job.getFinishedAt().isBefore(cutoff);
+    }
+
+    private JobQueueFullException queueFull() {
+        return new JobQueueFullException("Too many seating jobs in progress, please retry later.");
+    }
+
+    private void deleteDirectory(Path directory) {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        } catch (IOException e) {
+            logger.warn("Could not delete job directory {}", directory, e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,128 @@
+package com.seating.exam_seating_arrangement_system.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Micrometer meters for the seating pipeline.
+ * <p>
+ * Every step is recorded in the {@code seating.pipeline.stage} timer, tagged with the stage name
+ * (validate, save, parse_students, parse_rooms, allocate, render) and published with a percentile
+ * histogram. Counters track the amount of work done and the students that could not be seated,
+ * {@code seating.requests.shed} the requests rejected by {@link AdmissionControl}.
+ */
+@Component
+public class SeatingMetrics {
+
+    public static final String STAGE_VALIDATE = "validate";
+    public static final String STAGE_SAVE = "save";
+    public static final String STAGE_PARSE_STUDENTS = "parse_students";
+    public static final String STAGE_PARSE_ROOMS = "parse_rooms";
+    public static final String STAGE_ALLOCATE = "allocate";
+    public static final String STAGE_RENDER = "render";
+
+    private final MeterRegistry registry;
+    private final Map<String, Timer> stageTimers = new ConcurrentHashMap<>();
+    private final Counter studentsProcessed;
+    private final Counter roomsProcessed;
+    private final Counter pagesRendered;
+    private final Counter studentsUnseated;
+    private final Map<String, Counter> shedCounters = new ConcurrentHashMap<>();
+
+    @FunctionalInterface
+    public interface Step<T, E extends Exception> {
+        T run() throws E;
+    }
+
+    public SeatingMetrics(MeterRegistry registry, SeatingResultCache resultCache) {
+        this.registry = registry;
+        this.studentsProcessed = Counter.builder("seating.students.processed")
+                .description("Students read from uploaded rosters")
+                .register(registry);
+        this.roomsProcessed = Counter.builder("seating.rooms.processed")
+                .description("Rooms read from uploaded room files")
+                .register(registry);
+        this.pagesRendered = Counter.builder("seating.pages.rendered")
+                .description("PDF pages rendered")
+                .register(registry);
+        this.studentsUnseated = Counter.builder("seating.students.unseated")
+                .description("Students left without a seat because room capacity ran out")
+                .register(registry);
+
+        Gauge.builder("seating.cache.entries", resultCache, cache -> cache.stats().entries())
+                .description("Entries in the seating result cache")
+                .register(registry);
+        Gauge.builder("seating.cache.size", resultCache, cache -> cache.stats().bytes())
+                .baseUnit("bytes")
+                .register(registry);
+        FunctionCounter.builder("seating.cache.requests", resultCache, cache -> cache.stats().planHits())
+                .tag("result", "plan_hit")
+                .register(registry);
+        FunctionCounter.builder("seating.cache.requests", resultCache, cache -> cache.stats().pdfHits())
+                .tag("result", "pdf_hit")
+                .register(registry);
+        FunctionCounter.builder("seating.cache.requests", resultCache, cache -> cache.stats().misses())
+                .tag("result", "miss")
+                .register(registry);
+        FunctionCounter.builder("seating.cache.evictions", resultCache, cache -> cache.stats().evictions())
+                .register(registry);
+    }
+
+    public <T, E extends Exception> T time(String stage, Step<T, E> step) throws E {
+        Timer.Sample sample = Timer.start(registry);
+        try {
+            return step.run();
+        } finally {
+            sample.stop(stageTimer(stage));
+        }
+    }
+
+    private Timer stageTimer(String stage) {
+        return stageTimers.computeIfAbsent(stage, name -> Timer.builder("seating.pipeline.stage")
+                .description("Time spent in each step of the seating pipeline")
+                .tag("stage", name)
+                .publishPercentileHistogram()
+                .register(registry));
+    }
+
+    public void studentsProcessed(int count) {
+        studentsProcessed.increment(count);
+    }
+
+    public void roomsProcessed(int count) {
+        roomsProcessed.increment(count);
+    }
+
+    public void pagesRendered(int count) {
+        pagesRendered.increment(count);
+    }
+
+    public void studentsUnseated(int count) {
+        studentsUnseated.increment(count);
+    }
+
+    public void requestShed(String reason) {
+        shedCounters.computeIfAbsent(reason, name -> Counter.builder("seating.requests.shed")
+                .description("Requests rejected by admission control")
+                .tag("reason", name)
+                .register(registry)).increment();
+    }
+
+    public void trackAdmission(Supplier<Number> activeRequests, Supplier<Number> reservedBytes) {
+        Gauge.builder("seating.requests.active", activeRequests)
+                .description("Upload requests admitted and still in progress")
+                .register(registry);
+        Gauge.builder("seating.admission.reserved", reservedBytes)
+                .description("Heap reserved by admitted requests")
+                .baseUnit("bytes")
+                .register(registry);
+    }
+}
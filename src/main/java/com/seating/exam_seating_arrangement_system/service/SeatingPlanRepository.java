@@ -0,0 +1,317 @@
+package com.seating.exam_seating_arrangement_system.service;
+
+import com.seating.exam_seating_arrangement_system.seating.SeatingPlan;
+import com.seating.exam_seating_arrangement_system.seating.Student;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.*;
+import java.nio.file.*;
+import java.text.Normalizer;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * File backed store of published seating plans with in-memory seat indexes.
+ * <p>
+ * Every plan is written as one compact binary file into {@code seating.lookup.storage-dir} and loaded back on
+ * startup. Lookups never touch the disk: each plan is held as an immutable {@link PlanIndex} with a hash index
+ * by roll number, a sorted name index for prefix searches and the seats of every room, and is swapped atomically
+ * when the plan is saved again. At most {@code seating.lookup.max-plans} plans are kept, the oldest are dropped.
+ * <p>
+ * Plans generated by the PDF endpoints are published with {@link #publishIfAbsent} on a background thread, so
+ * indexing and writing them never delays or fails the request that produced them.
+ */
+@Component
+public class SeatingPlanRepository {
+    private static final Logger logger = LoggerFactory.getLogger(SeatingPlanRepository.class);
+    private static final int FILE_MAGIC = 0x53504c31; // "SPL1"
+    private static final String FILE_SUFFIX = ".plan";
+
+    private final Path storageDirectory;
+    private final int maxPlans;
+    private final Map<String, PlanIndex> plans = new ConcurrentHashMap<>();
+    private final ExecutorService publisher = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "seating-plan-publisher");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public SeatingPlanRepository(
+            @Value("${seating.lookup.storage-dir:${java.io.tmpdir}/seating-plans}") String storageDirectory,
+            @Value("${seating.lookup.max-plans:200}") int maxPlans
+    ) {
+        this.storageDirectory = Path.of(storageDirectory);
+        this.maxPlans = maxPlans;
+    }
+
+    // Seat of one seated student, row and column are 1-based
+    public record SeatRecord(String rollNumber, String name, String className, String roomNumber,
+                             int row, int column, String seatLabel) {
+    }
+
+    @PostConstruct
+    void load() throws IOException {
+        Files.createDirectories(storageDirectory);
+        try (Stream<Path> files = Files.list(storageDirectory)) {
+            files.filter(file -> file.getFileName().toString().endsWith(FILE_SUFFIX)).forEach(file -> {
+                try {
+                    PlanIndex index = read(file);
+                    plans.put(index.planId, index);
+                } catch (IOException e) {
+                    logger.warn("Skipping unreadable seating plan file {}: {}", file, e.getMessage());
+                }
+            });
+        }
+        evictIfNeeded();
+        logger.info("Loaded {} seating plans from {}", plans.size(), storageDirectory);
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        // Let queued plans reach the disk
+        publisher.shutdown();
+        publisher.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Persists the plan and replaces its index, used for plans that change after publication.
+     */
+    public void save(String planId, SeatingPlan plan) throws IOException {
+        PlanIndex index = PlanIndex.of(planId, System.currentTimeMillis(), records(plan));
+        write(index);
+        plans.put(planId, index);
+        evictIfNeeded();
+    }
+
+    /**
+     * Indexes and persists the plan in the background unless a plan with this id exists, used for content
+     * addressed ids. The plan must not change afterwards. Failures are logged; the plan is then not available
+     * for lookups.
+     */
+    public void publishIfAbsent(String planId, SeatingPlan plan) {
+        if (plans.containsKey(planId)) return;
+        publisher.execute(() -> {
+            try {
+                if (!plans.containsKey(planId)) save(planId, plan);
+            } catch (IOException | RuntimeException e) {
+                logger.warn("Could not publish seating plan {}", planId, e);
+            }
+        });
+    }
+
+    /**
+     * Publishes a generated plan and returns its id. The id is derived from the content hash of the uploads, so
+     * identical uploads map to the same plan; without a content hash (result cache disabled) a random id is used.
+     */
+    public String publishGenerated(String contentKey, SeatingPlan plan) {
+        String planId = contentKey != null
+                ? contentKey.substring(0, 32)
+                : UUID.randomUUID().toString().replace("-", "");
+        publishIfAbsent(planId, plan);
+        return planId;
+    }
+
+    public Optional<SeatRecord> findByRollNumber(String planId, String rollNumber) {
+        PlanIndex index = get(planId);
+        Integer record = index.byRollNumber.get(rollNumber);
+        return record == null ? Optional.empty() : Optional.of(index.records[record]);
+    }
+
+    /**
+     * Seats whose student name starts with the prefix (case and accents ignored) and/or that are in the room.
+     */
+    public List<SeatRecord> search(String planId, String namePrefix, String roomNumber, int limit) {
+        PlanIndex index = get(planId);
+        List<SeatRecord> result = new ArrayList<>();
+        if (namePrefix != null && !namePrefix.isBlank()) {
+            String prefix = normalize(namePrefix);
+            int i = lowerBound(index.sortedNames, prefix);
+            for (; i < index.sortedNames.length && result.size() < limit && index.sortedNames[i].startsWith(prefix); i++) {
+                SeatRecord record = index.records[index.nameOrder[i]];
+                if (roomNumber == null || roomNumber.equals(record.roomNumber())) result.add(record);
+            }
+        } else if (roomNumber != null) {
+            for (int record : index.byRoom.getOrDefault(roomNumber, new int[0])) {
+                if (result.size() >= limit) break;
+                result.add(index.records[record]);
+            }
+        } else {
+            throw new IllegalArgumentException("Either a name prefix or a room number is required.");
+        }
+        return result;
+    }
+
+    public void delete(String planId) {
+        if (plans.remove(planId) != null) {
+            try {
+                Files.deleteIfExists(fileOf(planId));
+            } catch (IOException e) {
+                logger.warn("Could not delete seating plan file of {}", planId, e);
+            }
+        }
+    }
+
+    private PlanIndex get(String planId) {
+        PlanIndex index = plans.get(planId);
+        if (index == null) {
+            throw new NoSuchElementException("Unknown seating plan " + planId);
+        }
+        return index;
+    }
+
+    private synchronized void evictIfNeeded() {
+        while (plans.size() > maxPlans) {
+            plans.values().stream()
+                    .min(Comparator.comparingLong(index -> index.savedAt))
+                    .ifPresent(oldest -> delete(oldest.planId));
+        }
+    }
+
+    private static List<SeatRecord> records(SeatingPlan plan) {
+        List<Student> students = plan.getStudents();
+        List<SeatRecord> records = new ArrayList<>(students.size());
+        for (SeatingPlan.RoomSeating room : plan.getRooms()) {
+            for (int row = 0; row < room.getRows(); row++) {
+                for (int position = 0; position < room.getSeatsPerRow(); position++) {
+                    int studentIndex = room.studentAt(row, position);
+                    if (studentIndex == SeatingPlan.EMPTY) continue;
+                    Student student = students.get(studentIndex);
+                    records.add(new SeatRecord(student.getRollNumber(), student.getName(), student.getClassName(),
+                            room.getRoomNumber(), row + 1, position / room.getStudentsPerSeat() + 1,
+                            plan.seatLabel(room, row, position)));
+                }
+            }
+        }
+        return records;
+    }
+
+    private Path fileOf(String planId) {
+        if (!planId.matches("[A-Za-z0-9-]+")) {
+            throw new IllegalArgumentException("Invalid plan id " + planId);
+        }
+        return storageDirectory.resolve(planId + FILE_SUFFIX);
+    }
+
+    // Written to a temp file first and moved into place, so readers never see half a plan
+    private void write(PlanIndex index) throws IOException {
+        Path target = fileOf(index.planId);
+        Path temp = Files.createTempFile(storageDirectory, index.planId, ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+            out.writeInt(FILE_MAGIC);
+            out.writeUTF(index.planId);
+            out.writeLong(index.savedAt);
+            out.writeInt(index.records.length);
+            for (SeatRecord record : index.records) {
+                out.writeUTF(record.rollNumber());
+                writeNullable(out, record.name());
+                writeNullable(out, record.className());
+                out.writeUTF(record.roomNumber());
+                out.writeInt(record.row());
+                out.writeInt(record.column());
+                out.writeUTF(record.seatLabel());
+            }
+        }
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static PlanIndex read(Path file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != FILE_MAGIC) {
+                throw new IOException("Not a seating plan file");
+            }
+            String planId = in.readUTF();
+            long savedAt = in.readLong();
+            int count = in.readInt();
+            List<SeatRecord> records = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                records.add(new SeatRecord(in.readUTF(), readNullable(in), readNullable(in), in.readUTF(),
+                        in.readInt(), in.readInt(), in.readUTF()));
+            }
+            return PlanIndex.of(planId, savedAt, records);
+        }
+    }
+
+    private static void writeNullable(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) out.writeUTF(value);
+    }
+
+    private static String readNullable(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static String normalize(String name) {
+        String decomposed = Normalizer.normalize(name, Normalizer.Form.NFD);
+        return decomposed.replaceAll("\\p{M}", "").toLowerCase(Locale.ROOT).trim();
+    }
+
+    private static int lowerBound(String[] sorted, String key) {
+        int low = 0;
+        int high = sorted.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sorted[mid].compareTo(key) < 0) low = mid + 1;
+            else high = mid;
+        }
+        return low;
+    }
+
+    // Immutable lookup structures of one plan
+    private static final class PlanIndex {
+        private final String planId;
+        private final long savedAt;
+        private final SeatRecord[] records;
+        private final Map<String, Integer> byRollNumber;
+        private final String[] sortedNames;
+        private final int[] nameOrder;
+        private final Map<String, int[]> byRoom;
+
+        private PlanIndex(String planId, long savedAt, SeatRecord[] records, Map<String, Integer> byRollNumber,
+                          String[] sortedNames, int[] nameOrder, Map<String, int[]> byRoom) {
+            this.planId = planId;
+            this.savedAt = savedAt;
+            this.records = records;
+            this.byRollNumber = byRollNumber;
+            this.sortedNames = sortedNames;
+            this.nameOrder = nameOrder;
+            this.byRoom = byRoom;
+        }
+
+        static PlanIndex of(String planId, long savedAt, List<SeatRecord> recordList) {
+            SeatRecord[] records = recordList.toArray(SeatRecord[]::new);
+            Map<String, Integer> byRollNumber = new HashMap<>(records.length * 2);
+            Map<String, List<Integer>> roomSeats = new LinkedHashMap<>();
+            for (int i = 0; i < records.length; i++) {
+                byRollNumber.put(records[i].rollNumber(), i);
+                roomSeats.computeIfAbsent(records[i].roomNumber(), room -> new ArrayList<>()).add(i);
+            }
+
+            String[] names = new String[records.length];
+            Integer[] order = new Integer[records.length];
+            for (int i = 0; i < records.length; i++) {
+                names[i] = records[i].name() == null ? "" : normalize(records[i].name());
+                order[i] = i;
+            }
+            Arrays.sort(order, Comparator.comparing(i -> names[i]));
+            String[] sortedNames = new String[records.length];
+            int[] nameOrder = new int[records.length];
+            for (int i = 0; i < records.length; i++) {
+                sortedNames[i] = names[order[i]];
+                nameOrder[i] = order[i];
+            }
+
+            Map<String, int[]> byRoom = new HashMap<>();
+            roomSeats.forEach((room, seats) -> byRoom.put(room, seats.stream().mapToInt(Integer::intValue).toArray()));
+            return new PlanIndex(planId, savedAt, records, byRollNumber, sortedNames, nameOrder, byRoom);
+        }
+    }
+}
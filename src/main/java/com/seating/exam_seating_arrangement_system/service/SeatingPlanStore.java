@@ -0,0 +1,254 @@
+package com.seating.exam_seating_arrangement_system.service;
+
+import com.seating.exam_seating_arrangement_system.seating.Room;
+import com.seating.exam_seating_arrangement_system.seating.SeatingPlan;
+import com.seating.exam_seating_arrangement_system.seating.SeatingPlanEditor;
+import com.seating.exam_seating_arrangement_system.seating.Student;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Keeps seating plans on the server so they can be patched after publication.
+ * <p>
+ * Edits go through a {@link SeatingPlanEditor}, which never moves a seated student unless their room is
+ * closed. Every room's page is kept as a rendered PDF fragment; an edit only drops the fragments of the rooms
+ * it changed, so the next download re-renders those rooms and merges the rest as they are. Rooms of the
+ * inventory the initial allocation did not need are opened when late registrations no longer fit. Every
+ * version of a plan is also published to the {@link SeatingPlanRepository} for seat lookups.
+ * <p>
+ * Plans are only rendered when their PDF is downloaded; on-screen previews read pages of rooms through
+ * {@link #rooms} instead, which copies the seats of the requested rooms only.
+ */
+@Service
+public class SeatingPlanStore {
+    private static final Logger logger = LoggerFactory.getLogger(SeatingPlanStore.class);
+
+    private final SeatingService seatingService;
+    private final SeatingPlanRepository planRepository;
+    private final Map<String, StoredPlan> plans = new ConcurrentHashMap<>();
+    private final Duration retention;
+
+    public SeatingPlanStore(
+            SeatingService seatingService,
+            SeatingPlanRepository planRepository,
+            @Value("${seating.plans.retention-minutes:1440}") long retentionMinutes
+    ) {
+        this.seatingService = seatingService;
+        this.planRepository = planRepository;
+        this.retention = Duration.ofMinutes(retentionMinutes);
+    }
+
+    public record PlanSummary(String id, int students, int seated, int unseated, int roomsUsed,
+                              int leftoverCapacity, List<String> changedRooms, Long seed) {
+    }
+
+    /**
+     * Page of the occupied rooms of a plan, in plan order. {@code totalRooms} counts all occupied rooms.
+     */
+    public record RoomPage(String planId, int page, int size, int totalRooms, List<RoomView> rooms) {
+
+        public int totalPages() {
+            return (totalRooms + size - 1) / size;
+        }
+    }
+
+    // Seats row by row up to the last occupied row, as in the PDF
+    public record RoomView(String roomNumber, int rows, int columns, int studentsPerSeat, int occupied,
+                           List<List<SeatView>> seats) {
+    }
+
+    // Student fields are null for empty seats
+    public record SeatView(String seatLabel, String rollNumber, String name, String className, boolean blocked) {
+    }
+
+    public PlanSummary create(MultipartFile studentsFile, MultipartFile roomsFile, Long roomCatalogVersion,
+                              SeatingService.Arrangement arrangement, String reader) throws IOException {
+        seatingService.validateFiles(studentsFile, roomsFile, roomCatalogVersion);
+        purgeExpiredPlans();
+
+        List<Student> students;
+        List<Room> rooms;
+        try (InputStream studentStream = studentsFile.getInputStream()) {
+            // Copied, the plan keeps appending late registrations to its student table
+            students = new ArrayList<>(seatingService.readStudents(studentStream, reader));
+        }
+        rooms = seatingService.readRooms(roomsFile, roomCatalogVersion, reader);
+        SeatingPlan plan = seatingService.allocate(students, rooms, arrangement);
+
+        // Rooms the allocation left out stay available for late registrations
+        Set<Room> planned = Collections.newSetFromMap(new IdentityHashMap<>());
+        plan.getRooms().forEach(room -> planned.add(room.getRoom()));
+        List<Room> spareRooms = new ArrayList<>();
+        for (Room room : rooms) {
+            if (!planned.contains(room)) spareRooms.add(room);
+        }
+
+        StoredPlan stored = new StoredPlan(UUID.randomUUID().toString(), new SeatingPlanEditor(plan), spareRooms,
+                arrangement.seed());
+        plans.put(stored.id, stored);
+        planRepository.save(stored.id, plan);
+        logger.info("Stored seating plan {} with {} students in {} rooms", stored.id, students.size(), plan.getRooms().size());
+        return stored.summary(new TreeSet<>());
+    }
+
+    public PlanSummary summary(String planId) {
+        StoredPlan stored = get(planId);
+        synchronized (stored) {
+            return stored.summary(new TreeSet<>());
+        }
+    }
+
+    public PlanSummary addStudents(String planId, List<Student> students) {
+        return edit(planId, editor -> editor.addStudents(students));
+    }
+
+    public PlanSummary withdrawStudent(String planId, String rollNumber) {
+        return edit(planId, editor -> editor.withdrawStudent(rollNumber));
+    }
+
+    public PlanSummary closeRoom(String planId, String roomNumber) {
+        return edit(planId, editor -> editor.closeRoom(roomNumber));
+    }
+
+    public boolean delete(String planId) {
+        // Only plans of this store; published plans of the PDF endpoints are not deleted through it
+        if (plans.remove(planId) == null) return false;
+        planRepository.delete(planId);
+        return true;
+    }
+
+    private PlanSummary edit(String planId, Function<SeatingPlanEditor, SortedSet<Integer>> change) {
+        StoredPlan stored = get(planId);
+        synchronized (stored) {
+            SortedSet<Integer> changedRooms = change.apply(stored.editor);
+            // Open spare rooms while students are waiting for a seat
+            while (stored.editor.getWaitingCount() > 0 && !stored.spareRooms.isEmpty()) {
+                changedRooms.addAll(stored.editor.openRoom(stored.spareRooms.remove(0)));
+            }
+            changedRooms.forEach(stored.fragments::remove);
+            stored.updatedAt = Instant.now();
+            if (!changedRooms.isEmpty()) {
+                try {
+                    planRepository.save(planId, stored.editor.getPlan());
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Could not persist seating plan " + planId, e);
+                }
+            }
+            return stored.summary(changedRooms);
+        }
+    }
+
+    /**
+     * Writes the current PDF of the plan, re-rendering only rooms changed since the last download.
+     */
+    public void writePdf(String planId, OutputStream outputStream) {
+        StoredPlan stored = get(planId);
+        List<byte[]> fragments = new ArrayList<>();
+        synchronized (stored) {
+            SeatingPlan plan = stored.editor.getPlan();
+            List<SeatingPlan.RoomSeating> rooms = plan.getRooms();
+            for (int r = 0; r < rooms.size(); r++) {
+                SeatingPlan.RoomSeating room = rooms.get(r);
+                if (room.usedRows() == 0) continue; // Skip rooms nobody is seated in
+                fragments.add(stored.fragments.computeIfAbsent(r, index -> seatingService.renderRoom(plan, room)));
+            }
+        }
+        seatingService.mergeRooms(fragments, outputStream);
+    }
+
+    /**
+     * Returns one page of the plan's occupied rooms, without rendering anything.
+     */
+    public RoomPage rooms(String planId, int page, int size) {
+        if (page < 0 || size < 1) {
+            throw new IllegalArgumentException("Page must be 0 or more and size at least 1.");
+        }
+        StoredPlan stored = get(planId);
+        synchronized (stored) {
+            SeatingPlan plan = stored.editor.getPlan();
+            List<RoomView> rooms = new ArrayList<>(size);
+            long first = (long) page * size;
+            int occupiedRooms = 0;
+            for (SeatingPlan.RoomSeating room : plan.getRooms()) {
+                if (room.usedRows() == 0) continue; // Skip rooms nobody is seated in
+                if (occupiedRooms >= first && rooms.size() < size) rooms.add(roomView(plan, room));
+                occupiedRooms++;
+            }
+            return new RoomPage(planId, page, size, occupiedRooms, rooms);
+        }
+    }
+
+    private static RoomView roomView(SeatingPlan plan, SeatingPlan.RoomSeating room) {
+        List<Student> students = plan.getStudents();
+        int usedRows = room.usedRows();
+        List<List<SeatView>> seats = new ArrayList<>(usedRows);
+        for (int r = 0; r < usedRows; r++) {
+            List<SeatView> row = new ArrayList<>(room.getSeatsPerRow());
+            for (int p = 0; p < room.getSeatsPerRow(); p++) {
+                String seatLabel = plan.seatLabel(room, r, p);
+                int studentIndex = room.studentAt(r, p);
+                if (studentIndex == SeatingPlan.EMPTY) {
+                    row.add(new SeatView(seatLabel, null, null, null, room.isBlocked(r * room.getSeatsPerRow() + p)));
+                } else {
+                    Student student = students.get(studentIndex);
+                    row.add(new SeatView(seatLabel, student.getRollNumber(), student.getName(), student.getClassName(), false));
+                }
+            }
+            seats.add(row);
+        }
+        Room layout = room.getRoom();
+        return new RoomView(room.getRoomNumber(), layout.getRows(), layout.getColumns(), room.getStudentsPerSeat(),
+                room.occupiedCount(), seats);
+    }
+
+    private StoredPlan get(String planId) {
+        StoredPlan stored = plans.get(planId);
+        if (stored == null) {
+            throw new NoSuchElementException("Unknown seating plan " + planId);
+        }
+        return stored;
+    }
+
+    private void purgeExpiredPlans() {
+        Instant cutoff = Instant.now().minus(retention);
+        plans.values().removeIf(stored -> stored.updatedAt.isBefore(cutoff));
+    }
+
+    private static final class StoredPlan {
+        private final String id;
+        private final SeatingPlanEditor editor;
+        private final List<Room> spareRooms;
+        private final Long seed;
+        private final Map<Integer, byte[]> fragments = new HashMap<>();
+        private volatile Instant updatedAt = Instant.now();
+
+        StoredPlan(String id, SeatingPlanEditor editor, List<Room> spareRooms, Long seed) {
+            this.id = id;
+            this.editor = editor;
+            this.spareRooms = spareRooms;
+            this.seed = seed;
+        }
+
+        PlanSummary summary(SortedSet<Integer> changedRooms) {
+            SeatingPlan plan = editor.getPlan();
+            List<String> changedRoomNumbers = new ArrayList<>(changedRooms.size());
+            changedRooms.forEach(room -> changedRoomNumbers.add(plan.getRooms().get(room).getRoomNumber()));
+            int seated = plan.getSeatedCount();
+            return new PlanSummary(id, seated + editor.getWaitingCount(), seated, editor.getWaitingCount(),
+                    plan.getRoomsUsed(), plan.getLeftoverCapacity(), changedRoomNumbers, seed);
+        }
+    }
+}
@@ -0,0 +1,245 @@
+package com.seating.exam_seating_arrangement_system.service;
+
+import com.seating.exam_seating_arrangement_system.seating.SeatingPlan;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Content addressed cache of seating results.
+ * <p>
+ * Entries are keyed by a SHA-256 of both uploaded files and the arrangement type, so identical uploads
+ * hit the cache regardless of file name. Each entry holds the allocated plan and, once rendered, the PDF
+ * bytes. The cache is LRU bounded by entry count and by total size (PDF bytes plus an estimate of the plan
+ * in memory), and entries expire after a TTL. PDFs larger than the per-entry limit are not cached, so a single
+ * large result can neither take over the cache nor be buffered in full while it is streamed. Cached plans are made read-only, as they are shared by every
+ * request that hits the entry.
+ */
+@Component
+public class SeatingResultCache {
+    private static final Logger logger = LoggerFactory.getLogger(SeatingResultCache.class);
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final boolean enabled;
+    private final int maxEntries;
+    private final long maxBytes;
+    private final long maxEntryBytes;
+    private final Duration ttl;
+
+    // Access ordered, so iteration starts at the least recently used entry
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalBytes;
+
+    private final AtomicLong planHits = new AtomicLong();
+    private final AtomicLong pdfHits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong expirations = new AtomicLong();
+
+    public SeatingResultCache(
+            @Value("${seating.cache.enabled:true}") boolean enabled,
+            @Value("${seating.cache.max-entries:64}") int maxEntries,
+            @Value("${seating.cache.max-bytes:268435456}") long maxBytes,
+            @Value("${seating.cache.max-entry-bytes:16777216}") long maxEntryBytes,
+            @Value("${seating.cache.ttl-minutes:60}") long ttlMinutes
+    ) {
+        this.enabled = enabled;
+        this.maxEntries = maxEntries;
+        this.maxBytes = maxBytes;
+        this.maxEntryBytes = Math.min(maxEntryBytes, maxBytes);
+        this.ttl = Duration.ofMinutes(ttlMinutes);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Builds the cache key from the content of both files and the arrangement type.
+     * The streams are read to the end but not closed.
+     */
+    public String key(InputStream studentsFile, InputStream roomsFile, String type) throws IOException {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            update(digest, studentsFile);
+            digest.update((byte) 0);
+            update(digest, roomsFile);
+            digest.update((byte) 0);
+            digest.update(type.toLowerCase().getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private void update(MessageDigest digest, InputStream inputStream) throws IOException {
+        byte[] buffer = new byte[BUFFER_SIZE];
+        int read;
+        while ((read = inputStream.read(buffer)) != -1) {
+            digest.update(buffer, 0, read);
+        }
+    }
+
+    /**
+     * Returns the cached plan (and PDF, when it has been rendered) or null on a miss.
+     */
+    public CachedResult get(String key) {
+        if (key == null) return null;
+        Entry entry = lookup(key);
+        if (entry == null) {
+            misses.incrementAndGet();
+            return null;
+        }
+        (entry.pdf != null ? pdfHits : planHits).incrementAndGet();
+        return new CachedResult(entry.plan, entry.pdf);
+    }
+
+    /**
+     * Wraps a response stream so the PDF written to it is also captured for the cache.
+     * Capturing stops, and the copy is dropped, once the PDF grows beyond the per-entry limit.
+     */
+    public CapturingOutputStream capture(OutputStream target) {
+        return new CapturingOutputStream(target, enabled ? maxEntryBytes : 0);
+    }
+
+    private synchronized Entry lookup(String key) {
+        if (!enabled) return null;
+        Entry entry = entries.get(key);
+        if (entry != null && entry.isExpired(ttl)) {
+            remove(key);
+            expirations.incrementAndGet();
+            return null;
+        }
+        return entry;
+    }
+
+    /**
+     * Stores a plan, with its rendered PDF when available (pdf may be null).
+     */
+    public synchronized void put(String key, SeatingPlan plan, byte[] pdf) {
+        if (!enabled || key == null) return;
+        if (pdf != null && pdf.length > maxEntryBytes) {
+            logger.debug("Not caching PDF of {} bytes, larger than the per-entry limit", pdf.length);
+            pdf = null;
+        }
+        Entry previous = entries.get(key);
+        if (previous != null) {
+            // Keep an already rendered PDF when only the plan is refreshed
+            if (pdf == null) pdf = previous.pdf;
+            remove(key);
+        }
+        plan.makeReadOnly();
+        Entry entry = new Entry(plan, pdf);
+        entries.put(key, entry);
+        totalBytes += entry.size();
+        evictIfNeeded();
+    }
+
+    private void evictIfNeeded() {
+        Iterator<Map.Entry<String, Entry>> iterator = entries.entrySet().iterator();
+        while ((entries.size() > maxEntries || totalBytes > maxBytes) && iterator.hasNext()) {
+            Entry eldest = iterator.next().getValue();
+            iterator.remove();
+            totalBytes -= eldest.size();
+            evictions.incrementAndGet();
+        }
+    }
+
+    private void remove(String key) {
+        Entry removed = entries.remove(key);
+        if (removed != null) {
+            totalBytes -= removed.size();
+        }
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        totalBytes = 0;
+    }
+
+    public synchronized Stats stats() {
+        return new Stats(enabled, entries.size(), totalBytes, planHits.get(), pdfHits.get(), misses.get(),
+                evictions.get(), expirations.get());
+    }
+
+    public record CachedResult(SeatingPlan plan, byte[] pdf) {
+    }
+
+    public record Stats(boolean enabled, int entries, long bytes, long planHits, long pdfHits, long misses,
+                        long evictions, long expirations) {
+    }
+
+    public static final class CapturingOutputStream extends FilterOutputStream {
+        private final long limit;
+        private ByteArrayOutputStream copy = new ByteArrayOutputStream();
+
+        CapturingOutputStream(OutputStream target, long limit) {
+            super(target);
+            this.limit = limit;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            if (copy != null) {
+                copy.write(b);
+                checkLimit();
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            if (copy != null) {
+                copy.write(b, off, len);
+                checkLimit();
+            }
+        }
+
+        private void checkLimit() {
+            if (copy.size() > limit) copy = null;
+        }
+
+        // The captured bytes, or null when the output was too large to keep
+        public byte[] captured() {
+            return copy == null ? null : copy.toByteArray();
+        }
+    }
+
+    private static final class Entry {
+        private final SeatingPlan plan;
+        private final byte[] pdf;
+        private final long size;
+        private final long createdAt = System.nanoTime();
+
+        Entry(SeatingPlan plan, byte[] pdf) {
+            this.plan = plan;
+            this.pdf = pdf;
+            this.size = plan.estimatedSize() + (pdf == null ? 0 : pdf.length);
+        }
+
+        long size() {
+            return size;
+        }
+
+        boolean isExpired(Duration ttl) {
+            return System.nanoTime() - createdAt > ttl.toNanos();
+        }
+    }
+}
@@ -0,0 +1,326 @@
+package com.seating.exam_seating_arrangement_system.service;
+
+import com.itextpdf.text.DocumentException;
+import com.seating.exam_seating_arrangement_system.seating.PDFGenerator;
+import com.seating.exam_seating_arrangement_system.seating.Room;
+import com.seating.exam_seating_arrangement_system.seating.SeatingLogic;
+import com.seating.exam_seating_arrangement_system.seating.SeatingPlan;
+import com.seating.exam_seating_arrangement_system.seating.StreamingExcelReader;
+import com.seating.exam_seating_arrangement_system.seating.Student;
+import com.seating.exam_seating_arrangement_system.seating.TextRosterReader;
+import org.apache.poi.poifs.filesystem.FileMagic;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Parse, allocate and render steps of the seating pipeline, shared by the synchronous
+ * endpoints and the background job workers.
+ */
+@Service
+public class SeatingService {
+    private static final Logger logger = LoggerFactory.getLogger(SeatingService.class);
+    // Excel workbooks, CSV, TSV and JSON lines; the format itself is recognised from the file content
+    private static final Set<String> SUPPORTED_CONTENT_TYPES = Set.of(
+            "application/vnd.ms-excel",
+            "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet",
+            "text/csv",
+            "text/tab-separated-values",
+            "text/plain",
+            "application/x-ndjson",
+            "application/jsonl",
+            "application/json-lines");
+    private static final Set<String> ARRANGEMENT_TYPES = Set.of(
+            "alphabetical", "rollnumber", "interleaved", "packed", "random", "constrained");
+    private final SeatingLogic seatingLogic;
+    private final StreamingExcelReader streamingExcelReader;
+    private final TextRosterReader textRosterReader;
+    private final PDFGenerator pdfGenerator;
+    private final SeatingMetrics metrics;
+    private final RoomCatalog roomCatalog;
+    private final Locale sortLocale;
+
+    public SeatingService(
+            SeatingMetrics metrics,
+            RoomCatalog roomCatalog,
+            SeatingLogic seatingLogic,
+            StreamingExcelReader streamingExcelReader,
+            TextRosterReader textRosterReader,
+            PDFGenerator pdfGenerator,
+            @Value("${seating.sort.locale:en}") String sortLocale
+    ) {
+        this.metrics = metrics;
+        this.roomCatalog = roomCatalog;
+        this.seatingLogic = seatingLogic;
+        this.streamingExcelReader = streamingExcelReader;
+        this.textRosterReader = textRosterReader;
+        this.pdfGenerator = pdfGenerator;
+        this.sortLocale = Locale.forLanguageTag(sortLocale);
+    }
+
+    public void validateFiles(MultipartFile... files) {
+        metrics.time(SeatingMetrics.STAGE_VALIDATE, () -> {
+            for (MultipartFile file : files) {
+                if (!isSupportedFile(file)) {
+                    throw new IllegalArgumentException(
+                            "Invalid file format. Only Excel (.xlsx, .xls), CSV, TSV and JSON lines files are allowed.");
+                }
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Validates a students upload together with its rooms, given either as a rooms file or as a room catalog version.
+     */
+    public void validateFiles(MultipartFile studentsFile, MultipartFile roomsFile, Long roomCatalogVersion) {
+        if (studentsFile == null) {
+            throw new IllegalArgumentException("A students file is required.");
+        }
+        if ((roomsFile == null || roomsFile.isEmpty()) == (roomCatalogVersion == null)) {
+            throw new IllegalArgumentException("Either a rooms file or a room catalog version is required.");
+        }
+        if (roomCatalogVersion != null) {
+            validateFiles(studentsFile);
+        } else {
+            validateFiles(studentsFile, roomsFile);
+        }
+    }
+
+    private boolean isSupportedFile(MultipartFile file) {
+        String contentType = file.getContentType();
+        if (contentType == null) return false;
+        int parameters = contentType.indexOf(';');
+        String mediaType = (parameters < 0 ? contentType : contentType.substring(0, parameters)).trim();
+        return SUPPORTED_CONTENT_TYPES.contains(mediaType.toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Reads a students file: an Excel workbook with the given reader, or a CSV, TSV or JSON lines file.
+     */
+    public List<Student> readStudents(String path, String reader) throws IOException {
+        if (!isWorkbook(new File(path))) {
+            return countStudents(metrics.time(SeatingMetrics.STAGE_PARSE_STUDENTS, () -> textRosterReader.readStudents(path)));
+        }
+        return countStudents(metrics.time(SeatingMetrics.STAGE_PARSE_STUDENTS, () -> switch (reader.toLowerCase()) {
+            case "dom" -> seatingLogic.readStudentsFromExcel(path);
+            case "streaming" -> streamingExcelReader.readStudents(path);
+            default -> throw invalidReader();
+        }));
+    }
+
+    public List<Student> readStudents(InputStream inputStream, String reader) throws IOException {
+        InputStream in = FileMagic.prepareToCheckMagic(inputStream);
+        if (!isWorkbook(in)) {
+            return countStudents(metrics.time(SeatingMetrics.STAGE_PARSE_STUDENTS, () -> textRosterReader.readStudents(in)));
+        }
+        return countStudents(metrics.time(SeatingMetrics.STAGE_PARSE_STUDENTS, () -> switch (reader.toLowerCase()) {
+            case "dom" -> seatingLogic.readStudentsFromExcel(in);
+            case "streaming" -> streamingExcelReader.readStudents(in);
+            default -> throw invalidReader();
+        }));
+    }
+
+    /**
+     * Reads a rooms file: an Excel workbook with the given reader, or a CSV, TSV or JSON lines file.
+     */
+    public List<Room> readRooms(String path, String reader) throws IOException {
+        if (!isWorkbook(new File(path))) {
+            return countRooms(metrics.time(SeatingMetrics.STAGE_PARSE_ROOMS, () -> textRosterReader.readRooms(path)));
+        }
+        return countRooms(metrics.time(SeatingMetrics.STAGE_PARSE_ROOMS, () -> switch (reader.toLowerCase()) {
+            case "dom" -> seatingLogic.readRoomsFromExcel(path);
+            case "streaming" -> streamingExcelReader.readRooms(path);
+            default -> throw invalidReader();
+        }));
+    }
+
+    public List<Room> readRooms(InputStream inputStream, String reader) throws IOException {
+        InputStream in = FileMagic.prepareToCheckMagic(inputStream);
+        if (!isWorkbook(in)) {
+            return countRooms(metrics.time(SeatingMetrics.STAGE_PARSE_ROOMS, () -> textRosterReader.readRooms(in)));
+        }
+        return countRooms(metrics.time(SeatingMetrics.STAGE_PARSE_ROOMS, () -> switch (reader.toLowerCase()) {
+            case "dom" -> seatingLogic.readRoomsFromExcel(in);
+            case "streaming" -> streamingExcelReader.readRooms(in);
+            default -> throw invalidReader();
+        }));
+    }
+
+    private List<Student> countStudents(List<Student> students) {
+        metrics.studentsProcessed(students.size());
+        return students;
+    }
+
+    private List<Room> countRooms(List<Room> rooms) {
+        metrics.roomsProcessed(rooms.size());
+        return rooms;
+    }
+
+    // Workbooks are recognised by their signature, anything else is read as text
+    private static boolean isWorkbook(InputStream in) throws IOException {
+        FileMagic magic = FileMagic.valueOf(in);
+        return magic == FileMagic.OOXML || magic == FileMagic.OLE2;
+    }
+
+    private static boolean isWorkbook(File file) throws IOException {
+        FileMagic magic = FileMagic.valueOf(file);
+        return magic == FileMagic.OOXML || magic == FileMagic.OLE2;
+    }
+
+    /**
+     * Rooms of the given catalog version, or parsed from the upload when no version is given.
+     */
+    public List<Room> readRooms(MultipartFile roomsFile, Long roomCatalogVersion, String reader) throws IOException {
+        if (roomCatalogVersion != null) {
+            return catalogRooms(roomCatalogVersion);
+        }
+        try (InputStream roomStream = roomsFile.getInputStream()) {
+            return readRooms(roomStream, reader);
+        }
+    }
+
+    public List<Room> catalogRooms(long roomCatalogVersion) {
+        return catalogVersion(roomCatalogVersion).rooms();
+    }
+
+    /**
+     * Content identifying the rooms for result cache keys: the uploaded workbook, or the fingerprint of the
+     * catalog version, so identical inventories share cache entries however they were provided.
+     */
+    public InputStream roomsContent(MultipartFile roomsFile, Long roomCatalogVersion) throws IOException {
+        if (roomCatalogVersion != null) {
+            String fingerprint = "room-catalog:" + catalogVersion(roomCatalogVersion).fingerprint();
+            return new ByteArrayInputStream(fingerprint.getBytes(StandardCharsets.UTF_8));
+        }
+        return roomsFile.getInputStream();
+    }
+
+    // An unknown version is an input error of the seating request
+    private RoomCatalog.Version catalogVersion(long roomCatalogVersion) {
+        try {
+            return roomCatalog.get(roomCatalogVersion);
+        } catch (NoSuchElementException e) {
+            throw new IllegalArgumentException(e.getMessage());
+        }
+    }
+
+    private IllegalArgumentException invalidReader() {
+        return new IllegalArgumentException("Invalid reader. Must be either 'dom' or 'streaming'");
+    }
+
+    /**
+     * Arrangement type of a request with its options. Only the random type has a seed and a label format.
+     * Both are resolved before the uploads are read, so a generated seed is part of the cache key and can be
+     * reported back to the client for regenerating the plan.
+     */
+    public record Arrangement(String type, Long seed, SeatingPlan.LabelFormat labelFormat) {
+
+        // Distinguishes cached results of the same uploads
+        public String key() {
+            return seed == null ? type : type + ":" + seed + ":" + labelFormat.name().toLowerCase();
+        }
+    }
+
+    public Arrangement arrangement(String type, Long seed, String labels) {
+        if (type == null || type.isBlank()) {
+            throw new IllegalArgumentException("An arrangement type is required.");
+        }
+        String normalized = type.toLowerCase();
+        if (!ARRANGEMENT_TYPES.contains(normalized)) {
+            throw new IllegalArgumentException("Invalid arrangement type. Must be one of "
+                    + "'alphabetical', 'rollnumber', 'interleaved', 'packed', 'random' or 'constrained'");
+        }
+        if (!normalized.equals("random")) {
+            if (seed != null || labels != null) {
+                throw new IllegalArgumentException("A seed and labels can only be given for the 'random' arrangement type");
+            }
+            return new Arrangement(normalized, null, null);
+        }
+        SeatingPlan.LabelFormat labelFormat = switch (labels == null ? "rollnumber" : labels.toLowerCase()) {
+            case "rollnumber" -> SeatingPlan.LabelFormat.ROLL_NUMBER;
+            case "name" -> SeatingPlan.LabelFormat.NAME;
+            default -> throw new IllegalArgumentException("Invalid labels. Must be either 'rollnumber' or 'name'");
+        };
+        // Non-negative, so generated seeds are easy to copy back into a request
+        long resolvedSeed = seed != null ? seed : ThreadLocalRandom.current().nextLong(Long.MAX_VALUE);
+        return new Arrangement(normalized, resolvedSeed, labelFormat);
+    }
+
+    public SeatingPlan allocate(List<Student> students, List<Room> rooms, Arrangement arrangement) {
+        logger.info("Processing seating arrangement for {} students and {} rooms",
+                students.size(), rooms.size());
+
+        SeatingPlan plan = metrics.time(SeatingMetrics.STAGE_ALLOCATE, () -> switch (arrangement.type()) {
+            case "alphabetical" -> SeatingLogic.allocateAlphabetically(students, rooms, sortLocale);
+            case "rollnumber" -> SeatingLogic.allocateByRollNumber(students, rooms);
+            case "interleaved" -> SeatingLogic.allocateInterleaved(students, rooms);
+            case "packed" -> SeatingLogic.allocatePacked(students, rooms);
+            case "random" -> SeatingLogic.allocateRandomly(students, rooms, arrangement.seed(), arrangement.labelFormat());
+            case "constrained" -> SeatingLogic.allocateConstrained(students, rooms);
+            default -> throw new IllegalStateException("Unknown arrangement type " + arrangement.type());
+        });
+        metrics.studentsUnseated(plan.getUnseatedCount());
+        return plan;
+    }
+
+    public void render(SeatingPlan seatingPlan, OutputStream outputStream) {
+        int pages = metrics.time(SeatingMetrics.STAGE_RENDER, () -> pdfGenerator.generateSeatingPDF(seatingPlan, outputStream));
+        metrics.pagesRendered(pages);
+    }
+
+    public byte[] renderRoom(SeatingPlan seatingPlan, SeatingPlan.RoomSeating room) {
+        return metrics.time(SeatingMetrics.STAGE_RENDER, () -> {
+            try {
+                return pdfGenerator.renderRoom(seatingPlan, room);
+            } catch (DocumentException e) {
+                throw new RuntimeException("Error generating PDF: " + e.getMessage(), e);
+            }
+        });
+    }
+
+    /**
+     * Writes a zip with one PDF per occupied room, the door sheet followed by the attendance list, rendered in
+     * parallel. Entries are written in room order as they become ready. The stream is finished but left open.
+     */
+    public void writeRoomPackets(SeatingPlan seatingPlan, OutputStream outputStream) throws IOException {
+        ZipOutputStream zip = new ZipOutputStream(outputStream);
+        Set<String> entryNames = new HashSet<>();
+        int pages = metrics.time(SeatingMetrics.STAGE_RENDER, () -> pdfGenerator.generateRoomPackets(seatingPlan, (room, pdf) -> {
+            // Room numbers that only differ in characters a file name cannot hold get a suffix
+            String baseName = "Room-" + room.getRoomNumber().replaceAll("[^A-Za-z0-9._-]", "_");
+            String entryName = baseName;
+            for (int copy = 2; !entryNames.add(entryName); copy++) {
+                entryName = baseName + "-" + copy;
+            }
+            zip.putNextEntry(new ZipEntry(entryName + ".pdf"));
+            zip.write(pdf);
+            zip.closeEntry();
+        }));
+        zip.finish();
+        metrics.pagesRendered(pages);
+    }
+
+    // Merges per-room fragments from renderRoom into a single PDF
+    public void mergeRooms(List<byte[]> fragments, OutputStream outputStream) {
+        int pages = pdfGenerator.mergeRooms(fragments, outputStream);
+        metrics.pagesRendered(pages);
+    }
+}
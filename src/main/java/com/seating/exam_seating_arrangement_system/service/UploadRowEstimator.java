@@ -0,0 +1,113 @@
+package com.seating.exam_seating_arrangement_system.service;
+
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipArchiveInputStream;
+import org.apache.poi.poifs.filesystem.FileMagic;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Cheap row count estimates of uploads, used to reject oversized rosters before they are parsed.
+ * <p>
+ * .xlsx workbooks declare the used range of a sheet in its {@code <dimension>} element, which is read from the
+ * start of the first worksheet. Text files are extrapolated from the line length of their first 64 KB. .xls
+ * workbooks, and .xlsx workbooks whose dimension cannot be found quickly, are estimated from their size. The
+ * estimate never fails a request: files that cannot be inspected are estimated from their size too.
+ * <p>
+ * Estimates from the size alone are marked {@link RowEstimate#fromSize}. They only size the memory reservation and
+ * never reject an upload, because the bytes per row of a workbook vary too much to tell a huge roster from a small
+ * one that compresses badly; such uploads are still bounded by the multipart size limit.
+ */
+final class UploadRowEstimator {
+
+    private static final int TEXT_SAMPLE_BYTES = 64 * 1024;
+    private static final int SHEET_HEAD_BYTES = 8 * 1024;
+    // Compressed bytes of the workbook read before giving up on finding the first worksheet
+    private static final long ZIP_SCAN_LIMIT = 4L * 1024 * 1024;
+    // Bytes per row of size based estimates, which only size the memory reservation
+    private static final long XLSX_BYTES_PER_ROW = 16;
+    private static final long XLS_BYTES_PER_ROW = 32;
+
+    private static final Pattern WORKSHEET = Pattern.compile("xl/worksheets/sheet\\d*\\.xml");
+    private static final Pattern DIMENSION = Pattern.compile("<dimension ref=\"[A-Z]+\\d+(?::[A-Z]+(\\d+))?\"");
+
+    private UploadRowEstimator() {
+    }
+
+    record RowEstimate(long rows, boolean fromSize) {
+    }
+
+    static RowEstimate estimateRows(MultipartFile file) throws IOException {
+        long size = file.getSize();
+        if (size == 0) return new RowEstimate(0, false);
+        try (InputStream in = FileMagic.prepareToCheckMagic(file.getInputStream())) {
+            return switch (FileMagic.valueOf(in)) {
+                case OOXML -> xlsxRows(in, size);
+                case OLE2 -> new RowEstimate(size / XLS_BYTES_PER_ROW, true);
+                default -> new RowEstimate(textRows(in, size), false);
+            };
+        }
+    }
+
+    private static long textRows(InputStream in, long size) throws IOException {
+        byte[] sample = in.readNBytes(TEXT_SAMPLE_BYTES);
+        long lines = 0;
+        for (byte b : sample) {
+            if (b == '\n') lines++;
+        }
+        if (sample.length == size) {
+            return sample[sample.length - 1] == '\n' ? lines : lines + 1;
+        }
+        // A sample without a line break is one long line
+        return lines == 0 ? 1 : size * lines / sample.length;
+    }
+
+    private static RowEstimate xlsxRows(InputStream in, long size) throws IOException {
+        CountingInputStream counted = new CountingInputStream(in);
+        // Workbooks written by streaming writers use data descriptors, which java.util.zip cannot read from a stream
+        ZipArchiveInputStream zip = new ZipArchiveInputStream(counted, StandardCharsets.UTF_8.name(), true, true);
+        try {
+            ZipArchiveEntry entry;
+            while (counted.count < ZIP_SCAN_LIMIT && (entry = zip.getNextZipEntry()) != null) {
+                if (!WORKSHEET.matcher(entry.getName()).matches()) continue;
+                String head = new String(zip.readNBytes(SHEET_HEAD_BYTES), StandardCharsets.ISO_8859_1);
+                Matcher dimension = DIMENSION.matcher(head);
+                if (dimension.find()) {
+                    return new RowEstimate(dimension.group(1) != null ? Long.parseLong(dimension.group(1)) : 1, false);
+                }
+                break;
+            }
+        } catch (IOException e) {
+            // Broken archives are reported by the parser, with a proper message
+        }
+        return new RowEstimate(size / XLSX_BYTES_PER_ROW, true);
+    }
+
+    private static final class CountingInputStream extends FilterInputStream {
+        private long count;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) count++;
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int read = super.read(buffer, offset, length);
+            if (read > 0) count += read;
+            return read;
+        }
+    }
+}
@@ -1,11 +1,26 @@
 package com.seating.exam_seating_arrangement_system;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.nio.file.Path;
 
 @SpringBootTest
 class ExamSeatingArrangementSystemApplicationTests {
 
+	// Published plans and the room catalog go to a directory of this test class instead of java.io.tmpdir
+	@TempDir
+	static Path storage;
+
+	@DynamicPropertySource
+	static void storage(DynamicPropertyRegistry registry) {
+		registry.add("seating.lookup.storage-dir", () -> storage.toString());
+		registry.add("seating.rooms.storage-file", () -> storage.resolve("seating-rooms.json").toString());
+	}
+
 	@Test
 	void contextLoads() {
 	}
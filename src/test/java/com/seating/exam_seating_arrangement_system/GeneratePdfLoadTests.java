@@ -0,0 +1,176 @@
+package com.seating.exam_seating_arrangement_system;
+
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Fires concurrent /generate-pdf requests at a running application and reports latency percentiles and
+ * throughput. Tagged "load", so it only runs with {@code mvn -Pload-test test}; the size of the run is set with
+ * {@code -Dload.requests}, {@code -Dload.concurrency} and {@code -Dload.students}.
+ * <p>
+ * Admission control and the result cache are switched off, so every request goes through parsing, allocation
+ * and rendering.
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+		"seating.admission.enabled=false",
+		"seating.cache.enabled=false",
+		"logging.level.com.seating.exam_seating_arrangement_system.api=WARN",
+		"logging.level.com.seating.exam_seating_arrangement_system.service=WARN",
+		"logging.level.com.seating.exam_seating_arrangement_system.seating=WARN"})
+class GeneratePdfLoadTests {
+
+	private static final Logger logger = LoggerFactory.getLogger(GeneratePdfLoadTests.class);
+	private static final int REQUESTS = Integer.getInteger("load.requests", 300);
+	private static final int CONCURRENCY = Integer.getInteger("load.concurrency", 100);
+	private static final int STUDENTS = Integer.getInteger("load.students", 500);
+	private static final int WARM_UP_REQUESTS = 20;
+	private static final String[] TYPES = {"alphabetical", "rollnumber", "interleaved", "packed"};
+	private static final String BOUNDARY = "----seating-load-test";
+
+	@LocalServerPort
+	private int port;
+
+	// Published plans and the room catalog go to a directory of this test class instead of java.io.tmpdir
+	@TempDir
+	static Path storage;
+
+	@DynamicPropertySource
+	static void storage(DynamicPropertyRegistry registry) {
+		registry.add("seating.lookup.storage-dir", () -> storage.toString());
+		registry.add("seating.rooms.storage-file", () -> storage.resolve("seating-rooms.json").toString());
+	}
+
+	@Test
+	void generatePdfUnderConcurrentLoad() throws Exception {
+		byte[] students = studentWorkbook();
+		byte[] rooms = roomsCsv();
+		HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+		for (int i = 0; i < WARM_UP_REQUESTS; i++) {
+			assertThat(send(client, students, rooms, TYPES[i % TYPES.length]).statusCode()).isEqualTo(200);
+		}
+
+		long[] latencies = new long[REQUESTS];
+		List<Future<Integer>> statuses = new ArrayList<>(REQUESTS);
+		CountDownLatch start = new CountDownLatch(1);
+		ExecutorService executor = Executors.newFixedThreadPool(CONCURRENCY);
+		long started;
+		try {
+			for (int i = 0; i < REQUESTS; i++) {
+				int request = i;
+				statuses.add(executor.submit(() -> {
+					start.await();
+					long sent = System.nanoTime();
+					HttpResponse<String> response = send(client, students, rooms, TYPES[request % TYPES.length]);
+					latencies[request] = System.nanoTime() - sent;
+					return response.statusCode();
+				}));
+			}
+			started = System.nanoTime();
+			start.countDown();
+			for (Future<Integer> status : statuses) {
+				assertThat(status.get()).isEqualTo(200);
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+		double seconds = (System.nanoTime() - started) / 1e9;
+
+		Arrays.sort(latencies);
+		logger.info("{} requests, {} concurrent, {} students: p50 {} ms, p90 {} ms, p99 {} ms, max {} ms, {} requests/s",
+				REQUESTS, CONCURRENCY, STUDENTS, percentile(latencies, 0.5), percentile(latencies, 0.9),
+				percentile(latencies, 0.99), latencies[REQUESTS - 1] / 1_000_000,
+				String.format("%.1f", REQUESTS / seconds));
+	}
+
+	private HttpResponse<String> send(HttpClient client, byte[] students, byte[] rooms, String type)
+			throws IOException, InterruptedException {
+		ByteArrayOutputStream body = new ByteArrayOutputStream();
+		addPart(body, "studentsFile", "students.xlsx",
+				"application/vnd.openxmlformats-officedocument.spreadsheetml.sheet", students);
+		addPart(body, "roomsFile", "rooms.csv", "text/csv", rooms);
+		addPart(body, "type", null, null, type.getBytes(StandardCharsets.UTF_8));
+		body.writeBytes(("--" + BOUNDARY + "--\r\n").getBytes(StandardCharsets.UTF_8));
+
+		HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/v1/seating/generate-pdf"))
+				.header("Content-Type", "multipart/form-data; boundary=" + BOUNDARY)
+				.POST(HttpRequest.BodyPublishers.ofByteArray(body.toByteArray()))
+				.build();
+		return client.send(request, HttpResponse.BodyHandlers.ofString());
+	}
+
+	private static void addPart(ByteArrayOutputStream body, String name, String fileName, String contentType,
+								byte[] content) {
+		StringBuilder header = new StringBuilder("--").append(BOUNDARY).append("\r\n")
+				.append("Content-Disposition: form-data; name=\"").append(name).append('"');
+		if (fileName != null) header.append("; filename=\"").append(fileName).append('"');
+		header.append("\r\n");
+		if (contentType != null) header.append("Content-Type: ").append(contentType).append("\r\n");
+		header.append("\r\n");
+		body.writeBytes(header.toString().getBytes(StandardCharsets.UTF_8));
+		body.writeBytes(content);
+		body.writeBytes("\r\n".getBytes(StandardCharsets.UTF_8));
+	}
+
+	private static long percentile(long[] sortedNanos, double quantile) {
+		int index = (int) Math.ceil(quantile * sortedNanos.length) - 1;
+		return sortedNanos[Math.max(0, index)] / 1_000_000;
+	}
+
+	private static byte[] studentWorkbook() throws IOException {
+		try (XSSFWorkbook workbook = new XSSFWorkbook();
+			 ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+			Sheet sheet = workbook.createSheet("Students");
+			Row header = sheet.createRow(0);
+			header.createCell(0).setCellValue("RollNumber");
+			header.createCell(1).setCellValue("Name");
+			header.createCell(2).setCellValue("Class");
+			for (int i = 1; i <= STUDENTS; i++) {
+				Row row = sheet.createRow(i);
+				row.createCell(0).setCellValue("R" + i);
+				row.createCell(1).setCellValue("Student " + i);
+				row.createCell(2).setCellValue("C" + i % 4);
+			}
+			workbook.write(out);
+			return out.toByteArray();
+		}
+	}
+
+	// Rooms of 5 x 6 benches with two students each, enough for every student
+	private static byte[] roomsCsv() {
+		StringBuilder csv = new StringBuilder("RoomNumber,Rows,Columns,Capacity,PerSeat\n");
+		for (int room = 1; room <= STUDENTS / 60 + 1; room++) {
+			csv.append(100 + room).append(",5,6,60,2\n");
+		}
+		return csv.toString().getBytes(StandardCharsets.UTF_8);
+	}
+}
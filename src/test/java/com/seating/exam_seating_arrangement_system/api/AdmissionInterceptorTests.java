@@ -0,0 +1,63 @@
+package com.seating.exam_seating_arrangement_system.api;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Requests arrive from the platform router on a loopback address, with the client address in X-Forwarded-For as
+ * in the prod profile. Every client must get a token bucket of its own.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+		"server.forward-headers-strategy=native",
+		"seating.admission.rate-per-minute=1",
+		"seating.admission.burst=1"})
+class AdmissionInterceptorTests {
+
+	private static final String BOUNDARY = "----admission-test";
+
+	// Published plans and the room catalog go to a directory of this test class instead of java.io.tmpdir
+	@TempDir
+	static Path storage;
+
+	@DynamicPropertySource
+	static void storage(DynamicPropertyRegistry registry) {
+		registry.add("seating.lookup.storage-dir", () -> storage.toString());
+		registry.add("seating.rooms.storage-file", () -> storage.resolve("seating-rooms.json").toString());
+	}
+
+	@LocalServerPort
+	private int port;
+
+	@Test
+	void forwardedClientsAreRateLimitedSeparately() throws Exception {
+		HttpClient client = HttpClient.newHttpClient();
+
+		// Admitted and then rejected by the controller, as there is no students file
+		assertThat(post(client, "203.0.113.1").statusCode()).isEqualTo(400);
+		assertThat(post(client, "203.0.113.1").statusCode()).isEqualTo(429);
+		assertThat(post(client, "203.0.113.2").statusCode()).isEqualTo(400);
+	}
+
+	private HttpResponse<String> post(HttpClient client, String forwardedFor) throws IOException, InterruptedException {
+		String body = "--" + BOUNDARY + "\r\nContent-Disposition: form-data; name=\"type\"\r\n\r\npacked\r\n--" + BOUNDARY + "--\r\n";
+		HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/v1/seating/generate-pdf"))
+				.header("Content-Type", "multipart/form-data; boundary=" + BOUNDARY)
+				.header("X-Forwarded-For", forwardedFor)
+				.POST(HttpRequest.BodyPublishers.ofString(body))
+				.build();
+		return client.send(request, HttpResponse.BodyHandlers.ofString());
+	}
+}
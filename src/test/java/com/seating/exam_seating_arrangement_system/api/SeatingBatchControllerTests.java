@@ -0,0 +1,86 @@
+package com.seating.exam_seating_arrangement_system.api;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "seating.admission.enabled=false")
+class SeatingBatchControllerTests {
+
+	private static final String BOUNDARY = "----batch-test";
+
+	@TempDir
+	static Path storage;
+
+	@DynamicPropertySource
+	static void storage(DynamicPropertyRegistry registry) {
+		registry.add("seating.lookup.storage-dir", () -> storage.toString());
+		registry.add("seating.rooms.storage-file", () -> storage.resolve("seating-rooms.json").toString());
+	}
+
+	@LocalServerPort
+	private int port;
+
+	@Test
+	void archiveHoldsOneSafelyNamedPdfPerSession() throws Exception {
+		ByteArrayOutputStream body = new ByteArrayOutputStream();
+		addPart(body, "studentsFiles", "roster.csv", """
+				RollNumber,Name,Class,Session
+				R1,Ann,A,Math
+				R2,Bob,B,math
+				R3,Cy,A,Math-2
+				R4,Dee,B,
+				""");
+		addPart(body, "studentsFiles", "../../evil.csv", "RollNumber,Name,Class\nR5,Eve,A\n");
+		addPart(body, "studentsFiles", "..csv", "RollNumber,Name,Class\nR6,Fay,B\n");
+		addPart(body, "roomsFile", "rooms.csv", "RoomNumber,Rows,Columns,Capacity,PerSeat\n101,2,2,4,1\n");
+		addPart(body, "type", null, "packed");
+		body.writeBytes(("--" + BOUNDARY + "--\r\n").getBytes(StandardCharsets.UTF_8));
+
+		HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/v1/seating/batch"))
+				.header("Content-Type", "multipart/form-data; boundary=" + BOUNDARY)
+				.POST(HttpRequest.BodyPublishers.ofByteArray(body.toByteArray()))
+				.build();
+		HttpResponse<byte[]> response = HttpClient.newHttpClient().send(request, HttpResponse.BodyHandlers.ofByteArray());
+		assertThat(response.statusCode()).isEqualTo(200);
+		assertThat(response.headers().firstValue("X-Seating-Sessions")).hasValue("6");
+
+		List<String> names = new ArrayList<>();
+		try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(response.body()))) {
+			for (ZipEntry entry; (entry = zip.getNextEntry()) != null; ) {
+				names.add(entry.getName());
+				assertThat(new String(zip.readAllBytes(), 0, 5, StandardCharsets.US_ASCII)).isEqualTo("%PDF-");
+			}
+		}
+		// Names differing only in case or clashing with a suffixed name are numbered, separators are replaced
+		assertThat(names).containsExactly(
+				"Math.pdf", "math-2.pdf", "Math-2-2.pdf", "roster.pdf", "_.._evil.pdf", "session.pdf");
+	}
+
+	private static void addPart(ByteArrayOutputStream body, String name, String fileName, String content) {
+		StringBuilder header = new StringBuilder("--").append(BOUNDARY).append("\r\n")
+				.append("Content-Disposition: form-data; name=\"").append(name).append('"');
+		if (fileName != null) header.append("; filename=\"").append(fileName).append("\"\r\nContent-Type: text/csv");
+		header.append("\r\n\r\n").append(content).append("\r\n");
+		body.writeBytes(header.toString().getBytes(StandardCharsets.UTF_8));
+	}
+}
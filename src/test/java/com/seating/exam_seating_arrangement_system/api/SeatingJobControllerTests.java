@@ -0,0 +1,143 @@
+package com.seating.exam_seating_arrangement_system.api;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.seating.exam_seating_arrangement_system.service.SeatingService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+
+/**
+ * Submits jobs to a single worker with room for one queued job. Allocation waits for the test, so the first job
+ * holds the worker while the queue fills up.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+		"seating.admission.enabled=false",
+		"seating.jobs.pool-size=1",
+		"seating.jobs.queue-capacity=1"})
+class SeatingJobControllerTests {
+
+	private static final String BOUNDARY = "----job-test";
+	private static final String JOBS = "/api/v1/seating/jobs";
+
+	@TempDir
+	static Path storage;
+
+	@DynamicPropertySource
+	static void storage(DynamicPropertyRegistry registry) {
+		registry.add("seating.lookup.storage-dir", () -> storage.toString());
+		registry.add("seating.rooms.storage-file", () -> storage.resolve("seating-rooms.json").toString());
+	}
+
+	@LocalServerPort
+	private int port;
+
+	@SpyBean
+	private SeatingService seatingService;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	private final HttpClient client = HttpClient.newHttpClient();
+
+	@Test
+	void runsJobsAndRejectsSubmissionsWhileTheQueueIsFull() throws Exception {
+		CountDownLatch allocation = new CountDownLatch(1);
+		doAnswer(invocation -> {
+			allocation.await(30, TimeUnit.SECONDS);
+			return invocation.callRealMethod();
+		}).when(seatingService).allocate(any(), any(), any());
+
+		HttpResponse<String> first = submit("packed");
+		assertThat(first.statusCode()).isEqualTo(202);
+		String firstId = json(first.body()).get("id").asText();
+		assertThat(first.headers().firstValue("Location")).hasValue(JOBS + "/" + firstId);
+		awaitStatus(firstId, "ALLOCATING");
+		assertThat(get(JOBS + "/" + firstId + "/result").statusCode()).isEqualTo(409);
+
+		HttpResponse<String> second = submit("rollnumber");
+		assertThat(second.statusCode()).isEqualTo(202);
+		HttpResponse<String> rejected = submit("alphabetical");
+		assertThat(rejected.statusCode()).isEqualTo(429);
+		assertThat(rejected.headers().firstValue("Retry-After")).hasValue("30");
+
+		allocation.countDown();
+		JsonNode completed = awaitStatus(firstId, "COMPLETED");
+		assertThat(completed.get("planId").asText()).hasSize(32);
+		awaitStatus(json(second.body()).get("id").asText(), "COMPLETED");
+
+		HttpResponse<byte[]> result = client.send(request(JOBS + "/" + firstId + "/result").GET().build(),
+				HttpResponse.BodyHandlers.ofByteArray());
+		assertThat(result.statusCode()).isEqualTo(200);
+		assertThat(result.headers().firstValue("Content-Type")).hasValue("application/pdf");
+		assertThat(new String(result.body(), 0, 5, StandardCharsets.US_ASCII)).isEqualTo("%PDF-");
+
+		assertThat(get(JOBS + "/unknown").statusCode()).isEqualTo(404);
+		assertThat(get(JOBS + "/unknown/result").statusCode()).isEqualTo(404);
+		assertThat(submit("unknown").statusCode()).isEqualTo(400);
+	}
+
+	private JsonNode awaitStatus(String jobId, String status) throws Exception {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+		while (true) {
+			JsonNode job = json(get(JOBS + "/" + jobId).body());
+			if (job.get("status").asText().equals(status)) return job;
+			assertThat(job.get("status").asText()).isNotEqualTo("FAILED");
+			assertThat(System.nanoTime()).isLessThan(deadline);
+			Thread.sleep(20);
+		}
+	}
+
+	private HttpResponse<String> submit(String type) throws IOException, InterruptedException {
+		ByteArrayOutputStream body = new ByteArrayOutputStream();
+		addPart(body, "studentsFile", "students.csv", "RollNumber,Name,Class\nR1,Ann,A\nR2,Bob,B\nR3,Cy,A\n");
+		addPart(body, "roomsFile", "rooms.csv", "RoomNumber,Rows,Columns,Capacity,PerSeat\n101,2,2,4,1\n");
+		addPart(body, "type", null, type);
+		body.writeBytes(("--" + BOUNDARY + "--\r\n").getBytes(StandardCharsets.UTF_8));
+		return client.send(request(JOBS)
+						.header("Content-Type", "multipart/form-data; boundary=" + BOUNDARY)
+						.POST(HttpRequest.BodyPublishers.ofByteArray(body.toByteArray()))
+						.build(),
+				HttpResponse.BodyHandlers.ofString());
+	}
+
+	private HttpResponse<String> get(String path) throws IOException, InterruptedException {
+		return client.send(request(path).GET().build(), HttpResponse.BodyHandlers.ofString());
+	}
+
+	private HttpRequest.Builder request(String path) {
+		return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path));
+	}
+
+	private JsonNode json(String body) throws IOException {
+		return objectMapper.readTree(body);
+	}
+
+	private static void addPart(ByteArrayOutputStream body, String name, String fileName, String content) {
+		StringBuilder header = new StringBuilder("--").append(BOUNDARY).append("\r\n")
+				.append("Content-Disposition: form-data; name=\"").append(name).append('"');
+		if (fileName != null) header.append("; filename=\"").append(fileName).append("\"\r\nContent-Type: text/csv");
+		header.append("\r\n\r\n").append(content).append("\r\n");
+		body.writeBytes(header.toString().getBytes(StandardCharsets.UTF_8));
+	}
+}
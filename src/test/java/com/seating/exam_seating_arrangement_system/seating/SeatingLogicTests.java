@@ -0,0 +1,191 @@
+package com.seating.exam_seating_arrangement_system.seating;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SeatingLogicTests {
+
+	@Test
+	void allocateByRollNumberFillsRoomsInOrder() {
+		List<Student> students = students(30, 3);
+		List<Room> rooms = List.of(new Room("101", 24, 3, 4, 2), new Room("102", 6, 2, 3, 1));
+
+		SeatingPlan plan = SeatingLogic.allocateByRollNumber(students, rooms);
+
+		assertThat(plan.getRooms()).hasSize(2);
+		assertThat(plan.getRooms().get(0).occupiedCount()).isEqualTo(24);
+		assertThat(plan.getRooms().get(1).occupiedCount()).isEqualTo(6);
+		assertThat(plan.getUnseatedCount()).isZero();
+		assertThat(plan.toLabelMap().get("101").get(0).get(2)).isEqualTo("SeatR1C2\nRoll No: R2");
+	}
+
+	@Test
+	void allocateByRollNumberUsesNaturalOrder() {
+		List<Student> students = List.of(new Student("CS10", "A", "C"), new Student("CS2", "B", "C"),
+				new Student("CS02", "C", "C"), new Student("CS1", "D", "C"));
+
+		SeatingPlan plan = SeatingLogic.allocateByRollNumber(students, List.of(new Room("101", 4, 1, 4, 1)));
+
+		assertThat(plan.toLabelMap().get("101").get(0)).containsExactly(
+				"SeatR1C1\nRoll No: CS1", "SeatR1C2\nRoll No: CS2", "SeatR1C3\nRoll No: CS02", "SeatR1C4\nRoll No: CS10");
+	}
+
+	@Test
+	void allocateAlphabeticallyCollatesWithoutModifyingRoster() {
+		List<Student> students = new ArrayList<>(List.of(new Student("1", "émile", "C"), new Student("2", "Zoe", "C"),
+				new Student("3", "adam", "C"), new Student("4", "Eve", "C")));
+		List<Student> original = List.copyOf(students);
+
+		SeatingPlan plan = SeatingLogic.allocateAlphabetically(students, List.of(new Room("101", 4, 1, 4, 1)));
+
+		assertThat(students).containsExactlyElementsOf(original);
+		assertThat(plan.toLabelMap().get("101").get(0)).containsExactly(
+				"SeatR1C1\nName: adam", "SeatR1C2\nName: émile", "SeatR1C3\nName: Eve", "SeatR1C4\nName: Zoe");
+	}
+
+	@Test
+	void allocateRandomlyIsReproducibleFromTheSeed() {
+		List<Student> students = students(500, 5);
+		List<Student> original = List.copyOf(students);
+		List<Room> rooms = List.of(new Room("101", 300, 10, 15, 2), new Room("102", 300, 10, 15, 2));
+
+		SeatingPlan plan = SeatingLogic.allocateRandomly(students, rooms, 42, SeatingPlan.LabelFormat.NAME);
+
+		assertThat(students).containsExactlyElementsOf(original);
+		assertAllSeatedOnce(plan, students.size());
+		assertThat(plan.toLabelMap().get("101").get(0).get(0)).startsWith("SeatR1C1\nName: ");
+		assertThat(SeatingLogic.allocateRandomly(students, rooms, 42, SeatingPlan.LabelFormat.NAME).toLabelMap())
+				.isEqualTo(plan.toLabelMap());
+		assertThat(SeatingLogic.allocateRandomly(students, rooms, 43, SeatingPlan.LabelFormat.NAME).toLabelMap())
+				.isNotEqualTo(plan.toLabelMap());
+	}
+
+	@Test
+	void allocateConstrainedPlacesRequirementsFirstAndSkipsBlockedSeats() {
+		List<Student> students = new ArrayList<>(students(4, 1));
+		students.add(new Student("R4", "E", "C0", null, EnumSet.of(Student.Requirement.ACCESSIBLE, Student.Requirement.SEPARATE)));
+		students.add(new Student("R5", "F", "C0", null, EnumSet.of(Student.Requirement.FRONT)));
+		students.add(new Student("R6", "G", "C0", null, EnumSet.of(Student.Requirement.FRONT, Student.Requirement.SEPARATE)));
+		students.add(new Student("R7", "H", "C0", null, EnumSet.of(Student.Requirement.FRONT, Student.Requirement.ACCESSIBLE)));
+		List<Room> rooms = List.of(new Room("101", 12, 2, 3, 2, "R2C1", "R1C3", 1));
+
+		SeatingPlan plan = SeatingLogic.allocateConstrained(students, rooms);
+
+		SeatingPlan.RoomSeating room = plan.getRooms().get(0);
+		int[] seats = new int[room.seatCount()];
+		for (int seat = 0; seat < seats.length; seat++) seats[seat] = room.studentAt(seat);
+		// Front benches: R6 alone, then R5; R4 alone on the accessible bench; nobody on the blocked bench
+		assertThat(seats).containsExactly(6, -1, 5, 0, -1, -1, 4, -1, 1, 2, 3, 7);
+		assertThat(plan.getUnmetRequirements()).containsExactly(7);
+		assertThat(plan.getConstraintViolations()).isEqualTo(1);
+		assertThat(plan.getUnseatedCount()).isZero();
+
+		SeatingPlan byRollNumber = SeatingLogic.allocateByRollNumber(students, rooms);
+		assertThat(byRollNumber.getRooms().get(0).studentAt(4)).isEqualTo(SeatingPlan.EMPTY);
+		assertAllSeatedOnce(byRollNumber, students.size());
+	}
+
+	@Test
+	void everyArrangementRespectsRoomCapacity() {
+		// Six seats, but room for five students only
+		List<Student> students = students(8, 2);
+		List<Room> rooms = List.of(new Room("101", 5, 2, 3, 1));
+
+		for (SeatingPlan plan : List.of(SeatingLogic.allocateByRollNumber(students, rooms),
+				SeatingLogic.allocateAlphabetically(students, rooms),
+				SeatingLogic.allocateRandomly(students, rooms, 7, SeatingPlan.LabelFormat.ROLL_NUMBER),
+				SeatingLogic.allocateInterleaved(students, rooms),
+				SeatingLogic.allocatePacked(students, rooms),
+				SeatingLogic.allocateConstrained(students, rooms))) {
+			assertThat(plan.getRooms().get(0).occupiedCount()).isEqualTo(5);
+			assertThat(plan.getUnseatedCount()).isEqualTo(3);
+			assertThat(plan.getLeftoverCapacity()).isZero();
+		}
+	}
+
+	@Test
+	void allocateInterleavedSeparatesClasses() {
+		List<Student> students = students(240, 3);
+		List<Room> rooms = List.of(new Room("101", 120, 6, 10, 2), new Room("102", 120, 6, 10, 2));
+
+		SeatingPlan plan = SeatingLogic.allocateInterleaved(students, rooms);
+
+		assertThat(plan.getConstraintViolations()).isZero();
+		assertThat(countViolations(plan)).isZero();
+		assertAllSeatedOnce(plan, students.size());
+	}
+
+	@Test
+	void allocateInterleavedReportsUnavoidableViolations() {
+		List<Student> students = students(20, 1);
+		List<Room> rooms = List.of(new Room("101", 20, 2, 5, 2));
+
+		SeatingPlan plan = SeatingLogic.allocateInterleaved(students, rooms);
+
+		assertThat(plan.getConstraintViolations()).isEqualTo(countViolations(plan)).isPositive();
+		assertAllSeatedOnce(plan, students.size());
+	}
+
+	@Test
+	void allocatePackedUsesFewestAndSmallestRooms() {
+		List<Student> students = students(80, 2);
+		List<Room> rooms = List.of(
+				new Room("101", 30, 5, 4, 2),
+				new Room("102", 60, 6, 5, 2),
+				new Room("103", 25, 5, 5, 1),
+				new Room("104", 35, 5, 4, 2));
+
+		SeatingPlan plan = SeatingLogic.allocatePacked(students, rooms);
+
+		assertThat(plan.getRooms()).extracting(SeatingPlan.RoomSeating::getRoomNumber).containsExactly("102", "103");
+		assertThat(plan.getRoomsUsed()).isEqualTo(2);
+		assertThat(plan.getLeftoverCapacity()).isEqualTo(5);
+		assertAllSeatedOnce(plan, students.size());
+	}
+
+	static List<Student> students(int count, int classes) {
+		List<Student> students = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			students.add(new Student("R" + i, "Student " + i, "C" + (i * classes / count)));
+		}
+		return students;
+	}
+
+	static void assertAllSeatedOnce(SeatingPlan plan, int studentCount) {
+		Set<Integer> seated = new HashSet<>();
+		for (SeatingPlan.RoomSeating room : plan.getRooms()) {
+			for (int seat = 0; seat < room.seatCount(); seat++) {
+				int student = room.studentAt(seat);
+				if (student != SeatingPlan.EMPTY) {
+					assertThat(seated.add(student)).isTrue();
+				}
+			}
+		}
+		assertThat(seated).hasSize(studentCount);
+	}
+
+	static int countViolations(SeatingPlan plan) {
+		int violations = 0;
+		for (SeatingPlan.RoomSeating room : plan.getRooms()) {
+			int seatsPerRow = room.getSeatsPerRow();
+			for (int seat = 0; seat < room.seatCount(); seat++) {
+				if (room.studentAt(seat) == SeatingPlan.EMPTY) continue;
+				if (seat % seatsPerRow > 0 && sameClass(plan, room.studentAt(seat), room.studentAt(seat - 1))) violations++;
+				if (seat >= seatsPerRow && sameClass(plan, room.studentAt(seat), room.studentAt(seat - seatsPerRow))) violations++;
+			}
+		}
+		return violations;
+	}
+
+	private static boolean sameClass(SeatingPlan plan, int a, int b) {
+		return b != SeatingPlan.EMPTY
+				&& plan.getStudents().get(a).className.equals(plan.getStudents().get(b).className);
+	}
+}
@@ -0,0 +1,88 @@
+package com.seating.exam_seating_arrangement_system.seating;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+
+import static com.seating.exam_seating_arrangement_system.seating.SeatingLogicTests.students;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SeatingPlanEditorTests {
+
+	@Test
+	void editsOnlyMoveStudentsOfClosedRooms() {
+		List<Room> rooms = List.of(new Room("101", 12, 2, 3, 2), new Room("102", 12, 2, 3, 2));
+		SeatingPlan plan = SeatingLogic.allocateByRollNumber(new ArrayList<>(students(20, 2)), rooms);
+		SeatingPlanEditor editor = new SeatingPlanEditor(plan);
+		int[] room101 = seats(plan.getRooms().get(0));
+
+		assertThat(editor.withdrawStudent("R15")).containsExactly(1);
+		assertThat(editor.addStudents(List.of(new Student("L1", "Late", "C0"), new Student("L2", "Later", "C1"))))
+				.containsExactly(1);
+		assertThat(plan.getRooms().get(1).occupiedCount()).isEqualTo(9);
+
+		assertThat(editor.closeRoom("102")).containsExactly(1);
+		assertThat(plan.getRooms().get(1).occupiedCount()).isZero();
+		assertThat(plan.getUnseatedCount()).isEqualTo(9);
+
+		assertThat(editor.openRoom(new Room("103", 12, 2, 3, 2))).containsExactly(2);
+		assertThat(plan.getUnseatedCount()).isZero();
+		assertThat(plan.getSeatedCount()).isEqualTo(21);
+		assertThat(seats(plan.getRooms().get(0))).containsExactly(room101);
+	}
+
+	@Test
+	void withdrawingAStudentSeatedBeyondCapacityKeepsTheSeatEmpty() {
+		// Four students on the four seats of a room with capacity 2, a fifth one waiting
+		SeatingPlan plan = new SeatingPlan(new ArrayList<>(students(5, 1)), SeatingPlan.LabelFormat.ROLL_NUMBER);
+		SeatingPlan.RoomSeating room = plan.addRoom(new Room("101", 2, 2, 2, 1));
+		for (int seat = 0; seat < 4; seat++) room.assign(seat, seat);
+		SeatingPlanEditor editor = new SeatingPlanEditor(plan);
+		assertThat(editor.getWaitingCount()).isEqualTo(1);
+
+		assertThat(editor.withdrawStudent("R3")).containsExactly(0);
+		assertThat(room.studentAt(3)).isEqualTo(SeatingPlan.EMPTY);
+		assertThat(editor.getWaitingCount()).isEqualTo(1);
+
+		editor.withdrawStudent("R0");
+		assertThat(room.studentAt(0)).isEqualTo(4);
+		assertThat(editor.getWaitingCount()).isZero();
+
+		// No seat within the capacity is left
+		assertThat(editor.addStudents(List.of(new Student("L1", "Late", "C0")))).isEmpty();
+		assertThat(plan.getUnseatedCount()).isEqualTo(1);
+	}
+
+	@Test
+	void lateRegistrationsKeepOutOfBenchesTakenByOneStudent() {
+		// One row of two benches for two students each: S has the first bench, R1 sits on the second
+		List<Student> students = new ArrayList<>(List.of(
+				new Student("S", "Solo", "C0", null, EnumSet.of(Student.Requirement.SEPARATE)),
+				new Student("R1", "Ann", "C0")));
+		SeatingPlan plan = SeatingLogic.allocateConstrained(students, List.of(new Room("101", 4, 1, 2, 2)));
+		SeatingPlan.RoomSeating room = plan.getRooms().get(0);
+		assertThat(seats(room)).containsExactly(0, SeatingPlan.EMPTY, 1, SeatingPlan.EMPTY);
+		assertThat(room.isReserved(1)).isTrue();
+
+		SeatingPlanEditor editor = new SeatingPlanEditor(plan);
+		editor.addStudents(List.of(new Student("L1", "Late", "C0"), new Student("L2", "Later", "C0")));
+		assertThat(seats(room)).containsExactly(0, SeatingPlan.EMPTY, 1, 2);
+		assertThat(editor.getWaitingCount()).isEqualTo(1);
+
+		// Once S withdraws the whole bench is free again
+		editor.withdrawStudent("S");
+		assertThat(room.isReserved(1)).isFalse();
+		assertThat(seats(room)).containsExactly(3, SeatingPlan.EMPTY, 1, 2);
+		assertThat(editor.addStudents(List.of(new Student("L3", "Latest", "C0")))).containsExactly(0);
+		assertThat(seats(room)).containsExactly(3, 4, 1, 2);
+		assertThat(plan.getUnseatedCount()).isZero();
+	}
+
+	private static int[] seats(SeatingPlan.RoomSeating room) {
+		int[] seats = new int[room.seatCount()];
+		for (int seat = 0; seat < seats.length; seat++) seats[seat] = room.studentAt(seat);
+		return seats;
+	}
+}
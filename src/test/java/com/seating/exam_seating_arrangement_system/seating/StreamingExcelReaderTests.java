@@ -0,0 +1,110 @@
+package com.seating.exam_seating_arrangement_system.seating;
+
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.poifs.filesystem.POIFSFileSystem;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StreamingExcelReaderTests {
+
+	private final StreamingExcelReader reader = new StreamingExcelReader();
+	private final SeatingLogic domReader = new SeatingLogic();
+
+	@TempDir
+	Path dir;
+
+	@Test
+	void readsXlsxLikeTheDomReader() throws IOException {
+		byte[] xlsx = roster(new XSSFWorkbook());
+		assertRoster(reader.readStudents(new ByteArrayInputStream(xlsx)));
+		assertRoster(reader.readStudents(write("roster.xlsx", xlsx)));
+		assertSameStudents(reader.readStudents(new ByteArrayInputStream(xlsx)),
+				domReader.readStudentsFromExcel(new ByteArrayInputStream(xlsx)));
+	}
+
+	@Test
+	void readsXlsLikeTheDomReader() throws IOException {
+		byte[] xls = roster(new HSSFWorkbook());
+		assertRoster(reader.readStudents(new ByteArrayInputStream(xls)));
+		assertRoster(reader.readStudents(write("roster.xls", xls)));
+		assertSameStudents(reader.readStudents(new ByteArrayInputStream(xls)),
+				domReader.readStudentsFromExcel(new ByteArrayInputStream(xls)));
+	}
+
+	@Test
+	void readsXlsWithAnUppercaseWorkbookEntry() throws IOException {
+		byte[] xls = roster(new HSSFWorkbook());
+		ByteArrayOutputStream renamed = new ByteArrayOutputStream();
+		try (POIFSFileSystem original = new POIFSFileSystem(new ByteArrayInputStream(xls));
+				POIFSFileSystem copy = new POIFSFileSystem()) {
+			byte[] stream = original.createDocumentInputStream("Workbook").readAllBytes();
+			copy.createDocument(new ByteArrayInputStream(stream), "WORKBOOK");
+			copy.writeFilesystem(renamed);
+		}
+		assertRoster(reader.readStudents(new ByteArrayInputStream(renamed.toByteArray())));
+	}
+
+	private String write(String name, byte[] content) throws IOException {
+		return Files.write(dir.resolve(name), content).toString();
+	}
+
+	// Header, a numeric roll number, a blank row, numeric and string formulas, and a trailing string formula
+	private static byte[] roster(Workbook workbook) throws IOException {
+		try (workbook) {
+			Sheet sheet = workbook.createSheet("Students");
+			row(sheet, 0, "RollNumber", "Name", "Class", "Session", "Needs");
+			Row numeric = sheet.createRow(1);
+			numeric.createCell(0).setCellValue(1001);
+			numeric.createCell(1).setCellValue("Ann");
+			numeric.createCell(2).setCellValue("CS-A");
+			sheet.createRow(2).createCell(1).setCellValue("");
+			Row formulas = sheet.createRow(3);
+			formulas.createCell(0).setCellFormula("A2+1");
+			formulas.createCell(1).setCellFormula("\"B\"&\"ob\"");
+			formulas.createCell(2).setCellValue("CS-B");
+			Row trailing = sheet.createRow(4);
+			trailing.createCell(0).setCellValue("R3");
+			trailing.createCell(1).setCellValue("Cy");
+			trailing.createCell(2).setCellValue("CS-A");
+			trailing.createCell(3).setCellFormula("\"A\"&\"M\"");
+			workbook.getCreationHelper().createFormulaEvaluator().evaluateAll();
+			ByteArrayOutputStream out = new ByteArrayOutputStream();
+			workbook.write(out);
+			return out.toByteArray();
+		}
+	}
+
+	private static void row(Sheet sheet, int index, String... values) {
+		Row row = sheet.createRow(index);
+		for (int i = 0; i < values.length; i++) {
+			row.createCell(i).setCellValue(values[i]);
+		}
+	}
+
+	private static void assertRoster(List<Student> students) {
+		assertThat(students).extracting(Student::getRollNumber).containsExactly("1001", "1002", "R3");
+		assertThat(students).extracting(Student::getName).containsExactly("Ann", "Bob", "Cy");
+		assertThat(students).extracting(Student::getClassName).containsExactly("CS-A", "CS-B", "CS-A");
+		assertThat(students).extracting(Student::getSession).containsExactly(null, null, "AM");
+	}
+
+	private static void assertSameStudents(List<Student> streamed, List<Student> dom) {
+		assertThat(streamed).hasSameSizeAs(dom);
+		for (int i = 0; i < dom.size(); i++) {
+			assertThat(streamed.get(i)).usingRecursiveComparison().isEqualTo(dom.get(i));
+		}
+	}
+}
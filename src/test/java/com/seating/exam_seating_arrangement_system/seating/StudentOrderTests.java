@@ -0,0 +1,39 @@
+package com.seating.exam_seating_arrangement_system.seating;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.seating.exam_seating_arrangement_system.seating.StudentOrder.compareNatural;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StudentOrderTests {
+
+	@Test
+	void leadingZerosOnlyBreakTies() {
+		// Decided by B and C, not by the zero of the first number
+		assertThat(compareNatural("A01B", "A1C")).isNegative();
+		assertThat(compareNatural("A1C", "A01B")).isPositive();
+		assertThat(compareNatural("A01C", "A1B")).isPositive();
+		assertThat(compareNatural("A01", "A1B")).isNegative();
+
+		// Otherwise equal strings: fewer leading zeros first, the first difference decides
+		assertThat(compareNatural("A1B", "A01B")).isNegative();
+		assertThat(compareNatural("A001B2", "A01B02")).isPositive();
+		assertThat(compareNatural("A01B02", "A01B02")).isZero();
+	}
+
+	@Test
+	void comparesDigitRunsAsNumbers() {
+		assertThat(compareNatural("x9", "x10")).isNegative();
+		assertThat(compareNatural("x", "x1")).isNegative();
+		assertThat(compareNatural("x0010", "x9")).isPositive();
+		assertThat(compareNatural(null, "x")).isNegative();
+		assertThat(compareNatural(null, null)).isZero();
+
+		List<String> rollNumbers = new ArrayList<>(List.of("CS10", "CS02A", "CS2B", "CS1", "CS002", "CS2"));
+		rollNumbers.sort(StudentOrder::compareNatural);
+		assertThat(rollNumbers).containsExactly("CS1", "CS2", "CS002", "CS02A", "CS2B", "CS10");
+	}
+}
@@ -0,0 +1,78 @@
+package com.seating.exam_seating_arrangement_system.seating;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TextRosterReaderTests {
+
+	private final TextRosterReader reader = new TextRosterReader();
+
+	@Test
+	void readsQuotedCsvAndTsvRooms() throws IOException {
+		List<Student> students = reader.readStudents(text("﻿RollNumber,Name,Class,Session\r\n"
+				+ "R1,\"Doe, John\",CS-A,AM\r\n"
+				+ ",,,\r\n"
+				+ "R2,\"Jane \"\"JJ\"\"\nSmith\",CS-B\n"));
+		assertThat(students).extracting(Student::getRollNumber).containsExactly("R1", "R2");
+		assertThat(students.get(0).getName()).isEqualTo("Doe, John");
+		assertThat(students.get(0).getSession()).isEqualTo("AM");
+		assertThat(students.get(1).getName()).isEqualTo("Jane \"JJ\"\nSmith");
+		assertThat(students.get(1).getSession()).isNull();
+
+		List<Room> rooms = reader.readRooms(text("RoomNumber\tRows\tColumns\tCapacity\tPerSeat\tAccessible\tBlocked\n"
+				+ "101\t4\t5\t20\t1\tR1C1\tr4 C5\n"));
+		assertThat(rooms).singleElement().satisfies(room -> {
+			assertThat(room.getRoomNumber()).isEqualTo("101");
+			assertThat(room.usableSeats()).isEqualTo(12);
+			assertThat(room.isAccessible(0, 0)).isTrue();
+			assertThat(room.isBlocked(3, 0)).isTrue();
+			assertThat(room.isBlocked(0, 4)).isTrue();
+		});
+	}
+
+	@Test
+	void readsJsonLines() throws IOException {
+		List<Student> students = reader.readStudents(text("""
+				{"rollNumber":"R1","name":"Ann","className":"A","extra":[1]}
+				{"rollNumber":2,"name":"Bob","className":"B","session":null,"needs":["front","Separate"]}
+				"""));
+		assertThat(students).extracting(Student::getRollNumber).containsExactly("R1", "2");
+		assertThat(students.get(1).getRequirements())
+				.containsExactlyInAnyOrder(Student.Requirement.FRONT, Student.Requirement.SEPARATE);
+	}
+
+	@Test
+	void reportsTheRowOfInvalidValues() {
+		assertThatThrownBy(() -> reader.readStudents(text("RollNumber,Name,Class\nR1,Ann,A\nR2,,B\n")))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("Missing value for column 'Name' in row 3");
+		// Rows are records, line breaks inside quoted fields do not count
+		assertThatThrownBy(() -> reader.readStudents(text("RollNumber,Name,Class\nR1,\"Ann\r\nLee\",A\r\nR2,,B\n")))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("Missing value for column 'Name' in row 3");
+		assertThatThrownBy(() -> reader.readRooms(text("RoomNumber,Rows,Columns,Capacity,PerSeat\n101,-2,5,10,1\n")))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("Value -2 for column 'Rows' must be at least 1 in row 2");
+		assertThatThrownBy(() -> reader.readRooms(text("{\"roomNumber\":\"101\",\"rows\":\"four\"}")))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("Invalid number 'four' for column 'Rows' in row 1");
+		assertThatThrownBy(() -> reader.readStudents(text("RollNumber,Name,Class\nR1,\"Ann,A\n")))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessageContaining("Unterminated quoted field");
+		assertThatThrownBy(() -> reader.readRooms(text("RoomNumber,Rows,Columns,Capacity,PerSeat,Accessible\n101,2,2,4,1,R3C1\n")))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("Seat R3C1 is outside room 101 with 2 rows and 2 columns in row 2");
+	}
+
+	private static InputStream text(String content) {
+		return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+	}
+}
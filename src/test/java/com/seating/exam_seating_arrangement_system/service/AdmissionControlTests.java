@@ -0,0 +1,120 @@
+package com.seating.exam_seating_arrangement_system.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Random;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdmissionControlTests {
+
+	private static final String XLSX = "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet";
+
+	@Test
+	void tokenBucketsRefillPerClient() throws Exception {
+		// One token, refilled every 10 ms
+		AdmissionControl admission = admissionControl(6000, 1, 1000, 0.6);
+
+		assertThat(admission.admit("a", List.of(), List.of()).admitted()).isTrue();
+		AdmissionControl.Admission limited = admission.admit("a", List.of(), List.of());
+		assertThat(limited.rejection()).isEqualTo(AdmissionControl.Reason.RATE_LIMITED);
+		assertThat(limited.retryAfterSeconds()).isEqualTo(1);
+		assertThat(admission.admit("b", List.of(), List.of()).admitted()).isTrue();
+
+		Thread.sleep(50);
+		assertThat(admission.admit("a", List.of(), List.of()).admitted()).isTrue();
+	}
+
+	@Test
+	void rejectsRostersAboveTheRowLimit() throws Exception {
+		AdmissionControl admission = admissionControl(6000, 100, 3, 0.6);
+
+		AdmissionControl.Admission tooLarge = admission.admit("a", List.of(csv(5)), List.of());
+		assertThat(tooLarge.rejection()).isEqualTo(AdmissionControl.Reason.TOO_LARGE);
+		assertThat(admission.admit("a", List.of(workbook(5)), List.of()).rejection())
+				.isEqualTo(AdmissionControl.Reason.TOO_LARGE);
+
+		AdmissionControl.Admission admitted = admission.admit("a", List.of(csv(3)), List.of());
+		assertThat(admitted.admitted()).isTrue();
+		admitted.permit().release();
+	}
+
+	@Test
+	void admitsWorkbooksWhoseRowsCannotBeRead() throws Exception {
+		// 400 KB that do not compress and no dimension element: 25000 rows when guessed from the size
+		AdmissionControl admission = admissionControl(6000, 100, 1000, 0.6);
+
+		AdmissionControl.Admission admitted = admission.admit("a", List.of(workbookWithoutDimension(400 * 1024)), List.of());
+		assertThat(admitted.admitted()).isTrue();
+		admitted.permit().release();
+	}
+
+	@Test
+	void heapBudgetIsReleasedWithThePermit() throws Exception {
+		// A budget of 4 MB is smaller than the base reservation of a single request
+		double heapFraction = 4.0 * 1024 * 1024 / Runtime.getRuntime().maxMemory();
+		AdmissionControl admission = admissionControl(6000, 100, 1000, heapFraction);
+
+		AdmissionControl.Admission first = admission.admit("a", List.of(csv(3)), List.of());
+		assertThat(first.admitted()).isTrue();
+		AdmissionControl.Admission second = admission.admit("b", List.of(csv(3)), List.of());
+		assertThat(second.rejection()).isEqualTo(AdmissionControl.Reason.OVERLOADED);
+
+		first.permit().release();
+		first.permit().release(); // Releasing twice must not grow the budget
+		AdmissionControl.Admission third = admission.admit("b", List.of(csv(3)), List.of());
+		assertThat(third.admitted()).isTrue();
+		assertThat(admission.admit("c", List.of(csv(3)), List.of()).rejection())
+				.isEqualTo(AdmissionControl.Reason.OVERLOADED);
+		third.permit().release();
+	}
+
+	private static AdmissionControl admissionControl(int ratePerMinute, int burst, long maxStudents, double heapFraction) {
+		SeatingMetrics metrics = new SeatingMetrics(new SimpleMeterRegistry(), new SeatingResultCache(false, 0, 0, 0, 0));
+		return new AdmissionControl(metrics, true, ratePerMinute, burst, maxStudents, 100, 2048, heapFraction, 10);
+	}
+
+	private static MultipartFile csv(int students) {
+		StringBuilder csv = new StringBuilder("RollNumber,Name,Class\n");
+		for (int i = 1; i < students; i++) csv.append("R").append(i).append(",Student ").append(i).append(",C1\n");
+		return new MockMultipartFile("studentsFile", "students.csv", "text/csv", csv.toString().getBytes(StandardCharsets.UTF_8));
+	}
+
+	private static MultipartFile workbook(int rows) throws IOException {
+		try (XSSFWorkbook workbook = new XSSFWorkbook(); ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+			Sheet sheet = workbook.createSheet("Students");
+			for (int i = 0; i < rows; i++) {
+				Row row = sheet.createRow(i);
+				row.createCell(0).setCellValue("R" + i);
+				row.createCell(1).setCellValue("Student " + i);
+			}
+			workbook.write(out);
+			return new MockMultipartFile("studentsFile", "students.xlsx", XLSX, out.toByteArray());
+		}
+	}
+
+	private static MultipartFile workbookWithoutDimension(int randomBytes) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try (ZipOutputStream zip = new ZipOutputStream(out)) {
+			zip.putNextEntry(new ZipEntry("xl/media/image1.bin"));
+			byte[] noise = new byte[randomBytes];
+			new Random(1).nextBytes(noise);
+			zip.write(noise);
+			zip.putNextEntry(new ZipEntry("xl/worksheets/sheet1.xml"));
+			zip.write("<worksheet><sheetData><row r=\"1\"/></sheetData></worksheet>".getBytes(StandardCharsets.UTF_8));
+		}
+		return new MockMultipartFile("studentsFile", "students.xlsx", XLSX, out.toByteArray());
+	}
+}
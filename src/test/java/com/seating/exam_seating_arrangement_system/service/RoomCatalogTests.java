@@ -0,0 +1,107 @@
+package com.seating.exam_seating_arrangement_system.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.seating.exam_seating_arrangement_system.seating.Room;
+import com.seating.exam_seating_arrangement_system.seating.TextRosterReader;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RoomCatalogTests {
+
+	private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+	@TempDir
+	Path dir;
+
+	@Test
+	void everyChangePublishesANewVersion() throws IOException {
+		RoomCatalog catalog = catalog(3);
+		assertThatThrownBy(catalog::current).isInstanceOf(NoSuchElementException.class);
+
+		RoomCatalog.Version first = catalog.put(room("101", 30));
+		RoomCatalog.Version second = catalog.put(room("102", 20));
+		RoomCatalog.Version third = catalog.put(room("101", 25));
+
+		assertThat(third.version()).isEqualTo(3);
+		assertThat(third.entries()).extracting(RoomCatalog.RoomEntry::roomNumber).containsExactly("102", "101");
+		assertThat(third.rooms().get(1).getTotalCapacity()).isEqualTo(25);
+		// Older versions are unchanged and can still be used
+		assertThat(catalog.get(1).rooms()).singleElement().extracting(Room::getTotalCapacity).isEqualTo(30);
+		assertThat(catalog.get(2).fingerprint()).isEqualTo(second.fingerprint()).isNotEqualTo(first.fingerprint());
+
+		RoomCatalog.Version removed = catalog.remove("102");
+		assertThat(removed.version()).isEqualTo(4);
+		assertThat(catalog.versions()).extracting(RoomCatalog.VersionInfo::version).containsExactly(2L, 3L, 4L);
+		assertThatThrownBy(() -> catalog.get(1)).isInstanceOf(NoSuchElementException.class);
+		assertThatThrownBy(() -> catalog.remove("102")).isInstanceOf(NoSuchElementException.class);
+
+		// The same rooms give the same fingerprint, so cached results stay valid across versions
+		assertThat(catalog.put(room("101", 25)).fingerprint()).isEqualTo(removed.fingerprint());
+	}
+
+	@Test
+	void rejectsInvalidRooms() throws IOException {
+		RoomCatalog catalog = catalog(3);
+
+		assertThatThrownBy(() -> catalog.put(room("101", 0))).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> catalog.put(room(" ", 10))).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> catalog.put(new RoomCatalog.RoomEntry("101", 2, 2, 4, 1, null, "R9C1", null)))
+				.isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> catalog.replace(List.of(new Room("101", 4, 2, 2, 1), new Room("101", 2, 1, 2, 1))))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("Room 101 is listed more than once.");
+		assertThat(catalog.versions()).isEmpty();
+		assertThat(dir.resolve("rooms.json")).doesNotExist();
+	}
+
+	@Test
+	void importsRoomsAndReloadsTheLatestVersion() throws IOException {
+		RoomCatalog catalog = catalog(3);
+		catalog.put(room("999", 10));
+		List<Room> imported = new TextRosterReader().readRooms(new ByteArrayInputStream((
+				"RoomNumber,Rows,Columns,Capacity,PerSeat,Accessible,Blocked,FrontRows\n"
+				+ "101,4,5,20,1,R1C1,R4C5,2\n"
+				+ "102,2,3,12,2,,,\n").getBytes(StandardCharsets.UTF_8)));
+		RoomCatalog.Version version = catalog.replace(imported);
+
+		RoomCatalog reloaded = catalog(3);
+		RoomCatalog.Version current = reloaded.current();
+		assertThat(current.version()).isEqualTo(version.version());
+		assertThat(current.fingerprint()).isEqualTo(version.fingerprint());
+		assertThat(current.entries()).isEqualTo(version.entries());
+		assertThat(current.rooms().get(0).isAccessible(0, 0)).isTrue();
+		assertThat(current.rooms().get(0).isBlocked(3, 4)).isTrue();
+		assertThat(current.rooms().get(0).getFrontRows()).isEqualTo(2);
+		// Only the latest version is stored, numbering continues from it
+		assertThat(reloaded.versions()).hasSize(1);
+		assertThat(reloaded.put(room("103", 5)).version()).isEqualTo(version.version() + 1);
+	}
+
+	@Test
+	void keepsAnEmptyCatalogWhenTheStoredFileIsUnreadable() throws IOException {
+		Files.writeString(dir.resolve("rooms.json"), "{not json");
+
+		assertThat(catalog(3).versions()).isEmpty();
+	}
+
+	private RoomCatalog catalog(int maxVersions) {
+		RoomCatalog catalog = new RoomCatalog(objectMapper, dir.resolve("rooms.json").toString(), maxVersions);
+		catalog.load();
+		return catalog;
+	}
+
+	private static RoomCatalog.RoomEntry room(String roomNumber, int totalCapacity) {
+		return new RoomCatalog.RoomEntry(roomNumber, 5, 6, totalCapacity, 1, null, null, null);
+	}
+}
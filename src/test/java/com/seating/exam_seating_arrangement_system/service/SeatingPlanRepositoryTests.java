@@ -0,0 +1,100 @@
+package com.seating.exam_seating_arrangement_system.service;
+
+import com.seating.exam_seating_arrangement_system.seating.Room;
+import com.seating.exam_seating_arrangement_system.seating.SeatingLogic;
+import com.seating.exam_seating_arrangement_system.seating.SeatingPlan;
+import com.seating.exam_seating_arrangement_system.seating.Student;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SeatingPlanRepositoryTests {
+
+	@TempDir
+	Path dir;
+
+	@Test
+	void indexesSeatsByRollNumberNameAndRoom() throws IOException {
+		SeatingPlanRepository repository = repository(10);
+		repository.save("plan-1", plan());
+
+		assertThat(repository.findByRollNumber("plan-1", "R3")).hasValueSatisfying(seat -> {
+			assertThat(seat.name()).isEqualTo("Émile");
+			assertThat(seat.roomNumber()).isEqualTo("101");
+			assertThat(seat.row()).isEqualTo(2);
+			assertThat(seat.column()).isEqualTo(2);
+		});
+		assertThat(repository.findByRollNumber("plan-1", "R9")).isEmpty();
+
+		// Prefixes ignore case and accents, results follow the name order
+		assertThat(repository.search("plan-1", "EM", null, 10))
+				.extracting(SeatingPlanRepository.SeatRecord::rollNumber).containsExactly("R3", "R4");
+		assertThat(repository.search("plan-1", "em", "102", 10))
+				.extracting(SeatingPlanRepository.SeatRecord::rollNumber).containsExactly("R4");
+		assertThat(repository.search("plan-1", null, "101", 2))
+				.extracting(SeatingPlanRepository.SeatRecord::rollNumber).containsExactly("R0", "R1");
+		assertThatThrownBy(() -> repository.search("plan-1", " ", null, 10))
+				.isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> repository.findByRollNumber("other", "R1"))
+				.isInstanceOf(NoSuchElementException.class);
+	}
+
+	@Test
+	void reloadsPlansAndDropsTheOldest() throws IOException, InterruptedException {
+		SeatingPlanRepository repository = repository(2);
+		repository.save("first", plan());
+		Thread.sleep(5);
+		repository.save("second", plan());
+		Files.writeString(dir.resolve("broken.plan"), "not a plan");
+
+		SeatingPlanRepository reloaded = repository(2);
+		assertThat(reloaded.findByRollNumber("first", "R1")).isPresent();
+		Thread.sleep(5);
+		reloaded.save("third", plan());
+
+		assertThatThrownBy(() -> reloaded.findByRollNumber("first", "R1")).isInstanceOf(NoSuchElementException.class);
+		assertThat(dir.resolve("first.plan")).doesNotExist();
+		assertThat(reloaded.findByRollNumber("third", "R1")).isPresent();
+
+		reloaded.delete("second");
+		assertThat(repository(2).search("third", null, "102", 10)).hasSize(1);
+		assertThatThrownBy(() -> repository.save("../escape", plan())).isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	void publishesGeneratedPlansWithAndWithoutContentHash() throws IOException, InterruptedException {
+		SeatingPlanRepository repository = repository(10);
+		String hashed = repository.publishGenerated("0123456789abcdef".repeat(4), plan());
+		String random = repository.publishGenerated(null, plan());
+		String other = repository.publishGenerated(null, plan());
+		repository.shutdown();
+
+		assertThat(hashed).isEqualTo("0123456789abcdef".repeat(2));
+		assertThat(random).hasSize(32).isNotEqualTo(other);
+		assertThat(repository.findByRollNumber(hashed, "R1")).isPresent();
+		assertThat(repository.findByRollNumber(random, "R1")).isPresent();
+		assertThat(repository(10).findByRollNumber(other, "R1")).isPresent();
+	}
+
+	private SeatingPlanRepository repository(int maxPlans) throws IOException {
+		SeatingPlanRepository repository = new SeatingPlanRepository(dir.toString(), maxPlans);
+		repository.load();
+		return repository;
+	}
+
+	// Room 101 holds R0-R3 in two rows of two, room 102 holds R4
+	private static SeatingPlan plan() {
+		List<Student> students = List.of(new Student("R0", "Ann", "A"), new Student("R1", "Bob", "A"),
+				new Student("R2", "Cy", "A"), new Student("R3", "Émile", "A"), new Student("R4", "Emma", "A"));
+		return SeatingLogic.allocateByRollNumber(students,
+				List.of(new Room("101", 4, 2, 2, 1), new Room("102", 2, 1, 2, 1)));
+	}
+}
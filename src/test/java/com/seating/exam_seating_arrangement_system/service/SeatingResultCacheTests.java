@@ -0,0 +1,118 @@
+package com.seating.exam_seating_arrangement_system.service;
+
+import com.seating.exam_seating_arrangement_system.seating.Room;
+import com.seating.exam_seating_arrangement_system.seating.SeatingLogic;
+import com.seating.exam_seating_arrangement_system.seating.SeatingPlan;
+import com.seating.exam_seating_arrangement_system.seating.SeatingPlanEditor;
+import com.seating.exam_seating_arrangement_system.seating.Student;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SeatingResultCacheTests {
+
+	@Test
+	void capturesStreamedPdfsUpToTheEntryLimit() throws IOException {
+		SeatingResultCache cache = new SeatingResultCache(true, 10, 1_000_000, 100, 60);
+
+		ByteArrayOutputStream small = new ByteArrayOutputStream();
+		SeatingResultCache.CapturingOutputStream capture = cache.capture(small);
+		capture.write(new byte[60]);
+		capture.write(new byte[40]);
+		assertThat(capture.captured()).hasSize(100);
+
+		// The response still gets every byte, only the copy for the cache is dropped
+		ByteArrayOutputStream large = new ByteArrayOutputStream();
+		capture = cache.capture(large);
+		capture.write(new byte[60]);
+		capture.write(new byte[41]);
+		capture.write(7);
+		assertThat(capture.captured()).isNull();
+		assertThat(large.size()).isEqualTo(102);
+
+		cache.put("large", plan(), new byte[101]);
+		assertThat(cache.get("large").pdf()).isNull();
+		assertThat(cache.get("large").plan()).isNotNull();
+	}
+
+	@Test
+	void evictsTheLeastRecentlyUsedEntryBeyondTheEntryLimit() {
+		SeatingResultCache cache = new SeatingResultCache(true, 2, 1_000_000, 1_000_000, 60);
+		cache.put("a", plan(), null);
+		cache.put("b", plan(), null);
+		assertThat(cache.get("a")).isNotNull();
+		cache.put("c", plan(), null);
+
+		assertThat(cache.get("b")).isNull();
+		assertThat(cache.get("a")).isNotNull();
+		assertThat(cache.get("c")).isNotNull();
+		assertThat(cache.stats().entries()).isEqualTo(2);
+		assertThat(cache.stats().evictions()).isEqualTo(1);
+	}
+
+	@Test
+	void evictsTheLeastRecentlyUsedEntriesBeyondTheSizeLimit() {
+		long planSize = plan().estimatedSize();
+		SeatingResultCache cache = new SeatingResultCache(true, 10, 3 * planSize, 3 * planSize, 60);
+		cache.put("a", plan(), new byte[(int) planSize]);
+		cache.put("b", plan(), null);
+		assertThat(cache.stats().bytes()).isEqualTo(3 * planSize);
+		assertThat(cache.get("a").pdf()).hasSize((int) planSize);
+
+		cache.put("c", plan(), null);
+		assertThat(cache.get("b")).isNull();
+		assertThat(cache.stats().bytes()).isEqualTo(3 * planSize);
+
+		// Refreshing the plan of an entry keeps its PDF
+		cache.put("a", plan(), null);
+		assertThat(cache.get("a").pdf()).hasSize((int) planSize);
+		assertThat(cache.stats().entries()).isEqualTo(2);
+	}
+
+	@Test
+	void expiresEntriesAfterTheTtl() throws InterruptedException {
+		SeatingResultCache cache = new SeatingResultCache(true, 10, 1_000_000, 1_000_000, 0);
+		cache.put("a", plan(), new byte[10]);
+		Thread.sleep(1);
+
+		assertThat(cache.get("a")).isNull();
+		assertThat(cache.stats().expirations()).isEqualTo(1);
+		assertThat(cache.stats().entries()).isZero();
+		assertThat(cache.stats().bytes()).isZero();
+	}
+
+	@Test
+	void cachedPlansRejectWrites() {
+		SeatingResultCache cache = new SeatingResultCache(true, 10, 1_000_000, 1_000_000, 60);
+		SeatingPlan plan = plan();
+		cache.put("a", plan, null);
+
+		SeatingPlan cached = cache.get("a").plan();
+		assertThat(cached.isReadOnly()).isTrue();
+		assertThatThrownBy(() -> new SeatingPlanEditor(cached)).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> cached.getStudents().add(new Student("R3", "Cy", "A")))
+				.isInstanceOf(UnsupportedOperationException.class);
+		assertThat(plan.isReadOnly()).isTrue();
+	}
+
+	@Test
+	void disabledCacheKeepsNothing() {
+		SeatingResultCache cache = new SeatingResultCache(false, 10, 1_000_000, 1_000_000, 60);
+		SeatingPlan plan = plan();
+		cache.put("a", plan, new byte[10]);
+
+		assertThat(cache.get("a")).isNull();
+		assertThat(plan.isReadOnly()).isFalse();
+	}
+
+	private static SeatingPlan plan() {
+		List<Student> students = new ArrayList<>(List.of(new Student("R1", "Ann", "A"), new Student("R2", "Bob", "B")));
+		return SeatingLogic.allocateByRollNumber(students, List.of(new Room("101", 4, 2, 2, 1)));
+	}
+}